@@ -0,0 +1,53 @@
+package org.example.capstone.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.capstone.controllers.ApiResponse;
+import org.example.capstone.telemetry.RequestTiming;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ApiResponse} bodies with a single {@link ObjectWriter} built at startup, so the envelope
+ * serializer is resolved once instead of per request. One instance is registered per format (JSON, CBOR, Smile),
+ * each with an ObjectMapper over the matching Jackson factory. Write-only; request bodies still go through the
+ * standard Jackson converters. The write time is reported as serialization time in Server-Timing headers.
+ */
+public class ApiResponseHttpMessageConverter extends AbstractHttpMessageConverter<ApiResponse<?>> {
+
+    private final ObjectWriter writer;
+
+    public ApiResponseHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType) {
+        super(mediaType);
+        this.writer = objectMapper.writerFor(ApiResponse.class);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("ApiResponse bodies are write-only.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), response);
+        RequestTiming.recordSerialization(System.nanoTime() - start);
+    }
+}
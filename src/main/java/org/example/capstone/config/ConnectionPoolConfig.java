@@ -0,0 +1,51 @@
+package org.example.capstone.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.capstone.telemetry.PoolTelemetry;
+import org.example.capstone.telemetry.SlowQueryDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that attaches {@link PoolTelemetry} to the HikariCP connection pool and wraps the pool
+ * in a {@link SlowQueryDataSource} when {@code capstone.slow-query.threshold-ms} is above zero or Server-Timing
+ * headers are enabled with a sample rate above zero.
+ * Pool sizing and timeouts themselves are set through the {@code spring.datasource.hikari.*} properties.
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    /**
+     * Registers the telemetry collector as Hikari's metrics tracker before the pool is started, then wraps the
+     * pool for slow statement logging and statement timing. Both happen in one post processor so the wrapper
+     * never hides the pool from the telemetry check.
+     * Declared static so the post processor does not force early creation of this configuration.
+     * @param poolTelemetry        Provider for the telemetry collector.
+     * @param slowQueryThresholdMs Statements running at least this long are logged; 0 disables logging.
+     * @param serverTiming         True if Server-Timing headers are enabled.
+     * @param sampleRate           The share of requests that get a Server-Timing header.
+     * @return A BeanPostProcessor that configures every {@link HikariDataSource}.
+     */
+    @Bean
+    public static BeanPostProcessor hikariTelemetryPostProcessor(ObjectProvider<PoolTelemetry> poolTelemetry,
+            @Value("${capstone.slow-query.threshold-ms:0}") long slowQueryThresholdMs,
+            @Value("${capstone.server-timing.enabled:true}") boolean serverTiming,
+            @Value("${capstone.server-timing.sample-rate:0.01}") double sampleRate) {
+        boolean timeStatements = serverTiming && sampleRate > 0;
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+                    dataSource.setMetricsTrackerFactory(poolTelemetry.getObject());
+                }
+                if (bean instanceof HikariDataSource dataSource && (slowQueryThresholdMs > 0 || timeStatements)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryThresholdMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,24 +1,52 @@
 package org.example.capstone.config;
 
+import org.example.capstone.services.DelegatingPasswordHasher;
+import org.example.capstone.services.JasyptPasswordHasher;
+import org.example.capstone.services.PasswordHasher;
+import org.example.capstone.services.Pbkdf2PasswordHasher;
 import org.jasypt.util.password.StrongPasswordEncryptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Configuration class for defining the encryption bean used for password hashing.
- * This configuration enables secure password storage using Jasypt's {@link StrongPasswordEncryptor},
- * which applies salted SHA-256 encryption.
+ * Configuration class for defining the encryption beans used for password hashing.
+ * New passwords are hashed with the algorithm selected by {@code capstone.password.algorithm}: {@code jasypt}
+ * (Jasypt's {@link StrongPasswordEncryptor}, salted SHA-256 with a fixed 100,000 iterations) or {@code pbkdf2}
+ * (PBKDF2-HMAC-SHA256 with {@code capstone.password.pbkdf2.iterations} iterations). Hashes in either format
+ * always verify, so the setting can be changed without resetting existing passwords.
  */
 @Configuration
 public class EncryptionConfig {
 
     /**
      * Bean definition for the StrongPasswordEncryptor.
-     * This bean can be injected wherever password encryption or verification is needed.
+     * This bean backs the Jasypt password format.
      * @return A StrongPasswordEncryptor instance.
      */
     @Bean
     public StrongPasswordEncryptor strongPasswordEncryptor() {
         return new StrongPasswordEncryptor();
     }
+
+    /**
+     * Bean definition for the password hasher.
+     * This bean can be injected wherever password hashing or verification is needed.
+     * @param encryptor  The Jasypt encryptor for the legacy format.
+     * @param algorithm  The algorithm for new hashes, {@code jasypt} or {@code pbkdf2}.
+     * @param iterations The PBKDF2 iteration count for new hashes.
+     * @return A hasher that writes the configured format and verifies every supported format.
+     */
+    @Bean
+    public PasswordHasher passwordHasher(StrongPasswordEncryptor encryptor,
+                                         @Value("${capstone.password.algorithm:jasypt}") String algorithm,
+                                         @Value("${capstone.password.pbkdf2.iterations:310000}") int iterations) {
+        PasswordHasher jasypt = new JasyptPasswordHasher(encryptor);
+        PasswordHasher pbkdf2 = new Pbkdf2PasswordHasher(iterations);
+        return switch (algorithm.toLowerCase()) {
+            case "jasypt" -> new DelegatingPasswordHasher(jasypt, pbkdf2);
+            case "pbkdf2" -> new DelegatingPasswordHasher(pbkdf2, jasypt);
+            default -> throw new IllegalArgumentException("Unknown capstone.password.algorithm: " + algorithm);
+        };
+    }
 }
@@ -0,0 +1,51 @@
+package org.example.capstone.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the application's JSON codec.
+ * <p>
+ * The Blackbird module makes Jackson read entity properties through generated lambdas instead of reflection;
+ * Spring Boot registers any {@link Module} bean with the application ObjectMapper. Output buffers are recycled
+ * through the pool selected by {@code capstone.json.recycler-pool}: {@code thread-local} (Jackson's default,
+ * best with a fixed set of platform threads) or {@code concurrent-deque} (one shared pool, for virtual threads).
+ */
+@Configuration
+public class JsonCodecConfig {
+
+    /**
+     * Bean definition for the Blackbird module.
+     * @return The module, picked up by Spring Boot's Jackson auto-configuration.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "capstone.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Bean definition for the JSON factory settings of the application ObjectMapper.
+     * @param recyclerPool The buffer recycling pool, {@code thread-local} or {@code concurrent-deque}.
+     * @return A customizer that installs a JsonFactory using the selected pool.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jsonFactoryCustomizer(
+            @Value("${capstone.json.recycler-pool:thread-local}") String recyclerPool) {
+        RecyclerPool<BufferRecycler> pool = switch (recyclerPool) {
+            case "thread-local" -> JsonRecyclerPools.threadLocalPool();
+            case "concurrent-deque" -> JsonRecyclerPools.sharedConcurrentDequePool();
+            default -> throw new IllegalArgumentException("Unknown capstone.json.recycler-pool: " + recyclerPool);
+        };
+        return builder -> builder.factory(JsonFactory.builder().recyclerPool(pool).build());
+    }
+}
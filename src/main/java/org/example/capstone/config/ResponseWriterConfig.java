@@ -0,0 +1,73 @@
+package org.example.capstone.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.example.capstone.controllers.RESTNouns;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the response body converters. JSON stays the default; clients that send
+ * {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile} get the same envelope
+ * in that binary format.
+ * <p>
+ * The CBOR and Smile mappers are copies of the application's ObjectMapper over a binary factory, so modules,
+ * date handling and buffer recycling are the same in every format.
+ * <p>
+ * Since the format depends on the {@code Accept} header, every API response (including 304s) carries
+ * {@code Vary: Accept} so shared caches keep one entry per format. The ETags are weak for the same reason.
+ */
+@Configuration
+public class ResponseWriterConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                }
+                return true;
+            }
+        }).addPathPatterns(RESTNouns.VERSION_1 + "/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper cborMapper = objectMapper.copyWith(CBORFactory.builder()
+                .recyclerPool(objectMapper.getFactory()._getRecyclerPool())
+                .build());
+        ObjectMapper smileMapper = objectMapper.copyWith(SmileFactory.builder()
+                .recyclerPool(objectMapper.getFactory()._getRecyclerPool())
+                .build());
+
+        // Typed envelopes first, JSON ahead of the binary formats so it wins when the client accepts anything
+        converters.add(0, new ApiResponseHttpMessageConverter(objectMapper, MediaType.APPLICATION_JSON));
+        converters.add(1, new ApiResponseHttpMessageConverter(cborMapper, MediaType.APPLICATION_CBOR));
+        converters.add(2, new ApiResponseHttpMessageConverter(smileMapper, APPLICATION_SMILE));
+
+        // Map responses: replace Spring's default binary converters, which use a mapper without our modules
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+    }
+}
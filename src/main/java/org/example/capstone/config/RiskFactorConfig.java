@@ -2,6 +2,8 @@ package org.example.capstone.config;
 
 import com.thoughtworks.xstream.XStream;
 import org.example.capstone.pojos.RiskFactors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +18,8 @@ import java.io.*;
 @Configuration
 public class RiskFactorConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(RiskFactorConfig.class);
+
     /**
      * Initializes and returns the {@link RiskFactors} bean.
      * If the config file exists: it loads and parses it using XStream.
@@ -36,10 +40,9 @@ public class RiskFactorConfig {
                     String dataXml = xstream.toXML(riskFactors);
                     myWriter.write(dataXml);
                     myWriter.close();
-                    System.out.println("Success: Config File '" + myObj.getName() + "' created.");
+                    log.info("Config file '{}' created.", myObj.getName());
                 } catch (IOException e) {
-                    System.out.println("Failure: Config File '" + myObj.getName() + "' could not be created.");
-                    e.printStackTrace();
+                    log.error("Config file '{}' could not be created.", myObj.getName(), e);
                 }
             } else {
                 String filePath = ".\\src\\main\\java\\org\\example\\capstone\\config\\risk_factor_config.xml"; // The file path
@@ -50,15 +53,14 @@ public class RiskFactorConfig {
                         contentBuilder.append(line).append(System.lineSeparator());
                     }
                 } catch (IOException e) {
-                    e.printStackTrace();
+                    log.error("Config file '{}' could not be read.", myObj.getName(), e);
                 }
                 String fileContent = contentBuilder.toString();
                 riskFactors = (RiskFactors) xstream.fromXML(fileContent);
-                System.out.println("Success: Config File '" + myObj.getName() + "' loaded.");
+                log.info("Config file '{}' loaded.", myObj.getName());
             }
         } catch (IOException e) {
-            System.out.println("Error: Config File could not be created or loaded.");
-            e.printStackTrace();
+            log.error("Config file could not be created or loaded.", e);
         }
         return riskFactors;
     }
@@ -0,0 +1,28 @@
+package org.example.capstone.config;
+
+import org.example.capstone.telemetry.RequestTiming;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class that enables Spring's scheduled and asynchronous task support
+ * for the background maintenance jobs (e.g. quote archival, background customer purges).
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+
+    /**
+     * Applied by Spring Boot to the application task executor, so database work a sampled request hands to it
+     * (such as the saves after a password is hashed) still counts towards the request's Server-Timing header.
+     * @return A TaskDecorator that carries the caller's {@link RequestTiming} over to the task.
+     */
+    @Bean
+    public TaskDecorator requestTimingTaskDecorator() {
+        return task -> RequestTiming.propagate(task);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.capstone.controllers;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Set;
+
+/**
+ * The {@code success} / {@code message} / {@code object} envelope returned by the read endpoints.
+ * <p>
+ * Serializes to the same JSON as the map the handlers used to build, but the message is kept as a
+ * {@link MessageTemplate} plus its arguments and is only formatted while the response is written.
+ * Responses created without an object omit the {@code object} key, as the maps did.
+ * A response can carry a field selection, which limits the properties written for the object (or for each
+ * element, if the object is a collection).
+ * @param <T> The type of the returned object.
+ */
+@JsonSerialize(using = ApiResponseSerializer.class)
+public final class ApiResponse<T> {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final boolean success;
+    private final MessageTemplate message;
+    private final Object[] args;
+    private final T object;
+    private final boolean hasObject;
+    private final Set<String> fields;
+
+    private ApiResponse(boolean success, MessageTemplate message, Object[] args, T object, boolean hasObject,
+                        Set<String> fields) {
+        this.success = success;
+        this.message = message;
+        this.args = args;
+        this.object = object;
+        this.hasObject = hasObject;
+        this.fields = fields;
+    }
+
+    /**
+     * Creates a successful response with a constant message.
+     * @param object  The object to return. May be null, which is written as {@code "object": null}.
+     * @param message The message.
+     * @return The response.
+     */
+    public static <T> ApiResponse<T> ok(T object, MessageTemplate message) {
+        return new ApiResponse<>(true, message, NO_ARGS, object, true, null);
+    }
+
+    /**
+     * Creates a successful response whose message is formatted from the given arguments when written.
+     * @param object  The object to return. May be null, which is written as {@code "object": null}.
+     * @param message The message template.
+     * @param args    The template arguments.
+     * @return The response.
+     */
+    public static <T> ApiResponse<T> ok(T object, MessageTemplate message, Object... args) {
+        return new ApiResponse<>(true, message, args, object, true, null);
+    }
+
+    /**
+     * Creates an unsuccessful response without an object.
+     * @param message The message template.
+     * @param args    The template arguments.
+     * @return The response.
+     */
+    public static <T> ApiResponse<T> failure(MessageTemplate message, Object... args) {
+        return new ApiResponse<>(false, message, args, null, false, null);
+    }
+
+    /**
+     * Returns a copy of this response that only writes the given properties of the object.
+     * @param fields The property names to keep.
+     * @return The narrowed response.
+     */
+    public ApiResponse<T> withFields(Set<String> fields) {
+        return new ApiResponse<>(success, message, args, object, hasObject, fields);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public MessageTemplate getMessageTemplate() {
+        return message;
+    }
+
+    public Object[] getMessageArgs() {
+        return args;
+    }
+
+    /**
+     * @return The formatted message. Builds a new string, so the serializer does not use it.
+     */
+    public String getMessage() {
+        return message.format(args);
+    }
+
+    public T getObject() {
+        return object;
+    }
+
+    public boolean hasObject() {
+        return hasObject;
+    }
+
+    /**
+     * @return The selected property names, or null to write every property.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.capstone.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes an {@link ApiResponse} field by field instead of going through bean introspection.
+ * <p>
+ * Field names are pre-encoded, the message is formatted into a per-thread buffer and written straight from it,
+ * and the serializer for each object class is resolved once and kept in this serializer's own map.
+ * <p>
+ * With a field selection, each bean (or each element of a collection or Optional) is written through its
+ * bean serializer's property writers, skipping the properties that were not selected.
+ */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString OBJECT = new SerializedString("object");
+
+    /** Buffers above this size are dropped after use rather than kept by the thread. */
+    private static final int MAX_RETAINED_BUFFER = 1024;
+
+    private static final ThreadLocal<MessageBuffer> BUFFERS = ThreadLocal.withInitial(MessageBuffer::new);
+
+    private transient volatile PropertySerializerMap objectSerializers = PropertySerializerMap.emptyForProperties();
+
+    public ApiResponseSerializer() {
+        super(ApiResponse.class, false);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(value.isSuccess());
+        gen.writeFieldName(MESSAGE);
+        writeMessage(value, gen);
+        if (value.hasObject()) {
+            gen.writeFieldName(OBJECT);
+            Object object = value.getObject();
+            if (value.getFields() != null) {
+                writeSelected(object, value.getFields(), gen, provider);
+            } else if (object == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                serializerFor(object.getClass(), provider).serialize(object, gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeMessage(ApiResponse<?> value, JsonGenerator gen) throws IOException {
+        MessageTemplate template = value.getMessageTemplate();
+        SerializedString constant = template.getConstant();
+        if (constant != null) {
+            gen.writeString(constant);
+            return;
+        }
+        MessageBuffer buffer = BUFFERS.get();
+        StringBuilder builder = buffer.builder;
+        builder.setLength(0);
+        template.appendTo(builder, value.getMessageArgs());
+        int length = builder.length();
+        if (buffer.chars.length < length) {
+            buffer.chars = new char[Math.max(length, buffer.chars.length * 2)];
+        }
+        builder.getChars(0, length, buffer.chars, 0);
+        gen.writeString(buffer.chars, 0, length);
+        if (builder.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFERS.remove();
+        }
+    }
+
+    private void writeSelected(Object object, Set<String> fields, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (object instanceof Optional<?> optional) {
+            writeSelectedBean(optional.orElse(null), fields, gen, provider);
+        } else if (object instanceof Iterable<?> elements) {
+            gen.writeStartArray();
+            for (Object element : elements) {
+                writeSelectedBean(element, fields, gen, provider);
+            }
+            gen.writeEndArray();
+        } else {
+            writeSelectedBean(object, fields, gen, provider);
+        }
+    }
+
+    private void writeSelectedBean(Object bean, Set<String> fields, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (bean == null) {
+            provider.defaultSerializeNull(gen);
+            return;
+        }
+        if (bean instanceof Map<?, ?> map) {
+            gen.writeStartObject(bean);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                if (fields.contains(name)) {
+                    provider.defaultSerializeField(name, entry.getValue(), gen);
+                }
+            }
+            gen.writeEndObject();
+            return;
+        }
+        JsonSerializer<Object> serializer = serializerFor(bean.getClass(), provider);
+        if (!(serializer instanceof BeanSerializerBase)) {
+            serializer.serialize(bean, gen, provider);
+            return;
+        }
+        gen.writeStartObject(bean);
+        Iterator<PropertyWriter> properties = serializer.properties();
+        while (properties.hasNext()) {
+            PropertyWriter property = properties.next();
+            if (fields.contains(property.getName())) {
+                try {
+                    property.serializeAsField(bean, gen, provider);
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw JsonMappingException.wrapWithPath(e, bean, property.getName());
+                }
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private JsonSerializer<Object> serializerFor(Class<?> type, SerializerProvider provider) throws IOException {
+        PropertySerializerMap map = objectSerializers;
+        JsonSerializer<Object> serializer = map.serializerFor(type);
+        if (serializer == null) {
+            PropertySerializerMap.SerializerAndMapResult result = map.findAndAddSecondarySerializer(type, provider, null);
+            objectSerializers = result.map;
+            serializer = result.serializer;
+        }
+        return serializer;
+    }
+
+    private static final class MessageBuffer {
+        private final StringBuilder builder = new StringBuilder(128);
+        private char[] chars = new char[128];
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.capstone.controllers;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} query parameter that limits which properties a GET endpoint returns,
+ * for example {@code ?fields=id,premium,effectiveDate,endDate,active}.
+ */
+public final class FieldSelection {
+
+    /**
+     * The query parameter name.
+     */
+    public static final String PARAMETER = "fields";
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Parses a comma-separated list of property names.
+     * @param fields The parameter value; may be null.
+     * @return The selected names in request order, or null if the parameter is missing or empty (all properties).
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                selected.add(name);
+            }
+        }
+        return selected.isEmpty() ? null : Collections.unmodifiableSet(selected);
+    }
+}
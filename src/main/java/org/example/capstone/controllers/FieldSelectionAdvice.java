@@ -0,0 +1,39 @@
+package org.example.capstone.controllers;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} query parameter to every {@link ApiResponse}, so any GET endpoint can return a
+ * sparse fieldset without each handler reading the parameter. Endpoints that can also narrow their query read
+ * the parameter themselves; their projected rows pass through the same filter unchanged.
+ */
+@ControllerAdvice
+public class FieldSelectionAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse && request instanceof ServletServerHttpRequest servletRequest) {
+            Set<String> fields = FieldSelection.parse(servletRequest.getServletRequest().getParameter(FieldSelection.PARAMETER));
+            if (fields != null) {
+                return apiResponse.withFields(fields);
+            }
+        }
+        return body;
+    }
+}
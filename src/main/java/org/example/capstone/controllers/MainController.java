@@ -1,24 +1,65 @@
 package org.example.capstone.controllers;
 
 import com.thoughtworks.xstream.XStream;
+import io.micrometer.core.instrument.Timer;
 import org.example.capstone.dataaccess.*;
 import org.example.capstone.pojos.*;
+import org.example.capstone.filters.LoginRateLimitFilter;
+import org.example.capstone.filters.SessionTokenFilter;
+import org.example.capstone.services.ChangeTracker;
+import org.example.capstone.services.CustomerPurgeService;
+import org.example.capstone.services.FactorBreakdown;
+import org.example.capstone.services.FactorBreakdown.Factor;
+import org.example.capstone.services.HashingRejectedException;
+import org.example.capstone.services.KnownIdentityFilter;
+import org.example.capstone.services.PasswordHashingService;
+import org.example.capstone.services.PasswordRehashService;
+import org.example.capstone.services.QuoteLookupService;
+import org.example.capstone.services.QuoteLookupTimeoutException;
+import org.example.capstone.services.ReadCoalescingService;
+import org.example.capstone.services.SessionToken;
+import org.example.capstone.services.SessionTokenService;
+import org.example.capstone.telemetry.Diagnostics;
+import org.example.capstone.telemetry.DiagnosticsBusyException;
+import org.example.capstone.telemetry.HibernateStatisticsReport;
+import org.example.capstone.telemetry.PoolTelemetry;
+import org.example.capstone.telemetry.QuoteMetrics;
+import org.example.capstone.telemetry.QuotePricingEvent;
+import org.example.capstone.telemetry.RequestTiming;
+import org.example.capstone.telemetry.VirtualThreadPinningMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
-import org.jasypt.util.password.StrongPasswordEncryptor;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.http.HttpStatus;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * The main controller for this application, handling RESTful endpoints
@@ -29,6 +70,8 @@ import java.util.Optional;
 @RequestMapping(path = RESTNouns.VERSION_1)
 public class MainController {
 
+    private static final Logger log = LoggerFactory.getLogger(MainController.class);
+
     //Wire the ORM
     @Autowired private CustomerRepository customerRepository;
     @Autowired private EmployeeRepository employeeRepository;
@@ -37,11 +80,34 @@ public class MainController {
     @Autowired private HomeQuoteRepository homeQuoteRepository;
     @Autowired private HomePolicyRepository homePolicyRepository;
     @Autowired private AutoQuoteRepository autoQuoteRepository;
+    @Autowired private HomeQuoteArchiveRepository homeQuoteArchiveRepository;
+    @Autowired private AutoQuoteArchiveRepository autoQuoteArchiveRepository;
     @Autowired private AutoPolicyRepository autoPolicyRepository;
-    @Autowired private StrongPasswordEncryptor passwordEncryptor; //Choose x-www-form-urlencoded under BODY for register/login POSTS
+    @Autowired private PasswordHashingService passwordHashingService; //Choose x-www-form-urlencoded under BODY for register/login POSTS
+    @Autowired private PasswordRehashService passwordRehashService;
     @Autowired private AccidentsRepository accidentsRepository;
     @Autowired private AddressRepository addressRepository;
-    @Autowired private RiskFactors riskFactors;
+    @Autowired private volatile RiskFactors riskFactors;
+    @Autowired private PoolTelemetry poolTelemetry;
+    @Autowired private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+    @Autowired private CustomerPurgeService customerPurgeService;
+    @Autowired private SessionTokenService sessionTokenService;
+    @Autowired private KnownIdentityFilter knownIdentityFilter;
+    @Autowired private LoginRateLimitFilter loginRateLimitFilter;
+    @Autowired private QuoteLookupService quoteLookupService;
+    @Autowired private ChangeTracker changeTracker;
+    @Autowired private ReadCoalescingService readCoalescingService;
+    @Autowired private ProjectionQueries projectionQueries;
+    @Autowired private QuoteMetrics quoteMetrics;
+    @Autowired private HibernateStatisticsReport hibernateStatisticsReport;
+    @Autowired private Diagnostics diagnostics;
+    @Autowired @Qualifier("applicationTaskExecutor") private Executor taskExecutor;
+
+    @Value("${capstone.hashing.retry-after-seconds:1}")
+    private int hashingRetryAfterSeconds;
+
+    @Value("${capstone.diagnostics.retry-after-seconds:10}")
+    private int diagnosticsRetryAfterSeconds;
 
     private final DecimalFormat decimalFormatter = new DecimalFormat("#.##");
 
@@ -52,26 +118,25 @@ public class MainController {
      * @return An iterable collection of all Employee entities
      */
     @GetMapping(path = RESTNouns.CUSTOMER)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllCustomers() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All customers retrieved!");
-        response.put("object", customerRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllCustomers() {
+        return ResponseEntity.ok(ApiResponse.ok(customerRepository.findAll(), ResponseMessages.ALL_CUSTOMERS));
     }
 
     /**
      * Retrieves a specific user by their unique identifier.
+     * Concurrent reads of the same unchanged customer share one database load.
      * @param customerId The unique identifier of the user to retrieve
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return An Optional containing the User if found, or an empty Optional
      */
     @GetMapping(path = RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getCustomerById(@PathVariable("id") Long customerId) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Customer with the ID " + customerId + " retrieved!");
-        response.put("object", customerRepository.findById(customerId));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getCustomerById(@PathVariable("id") Long customerId, WebRequest webRequest) {
+        String etag = changeTracker.customerEtag(customerId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.ok(readCoalescingService.customer(customerId, etag),
+                ResponseMessages.CUSTOMER_BY_ID, customerId));
     }
 
     /**
@@ -81,14 +146,11 @@ public class MainController {
      * @return A list of customers with the specified name.
      */
     @GetMapping(path = RESTNouns.CUSTOMER + RESTNouns.NAME)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllCustomersUsingName(
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllCustomersUsingName(
             @RequestParam String firstName,
             @RequestParam String lastName) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All customers named " + firstName + " " + lastName + " retrieved!");
-        response.put("object", customerRepository.getAllCustomersByFirstNameAndLastName(firstName, lastName));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok(ApiResponse.ok(customerRepository.getAllCustomersByFirstNameAndLastName(firstName, lastName),
+                ResponseMessages.ALL_CUSTOMERS_USING_NAME, firstName, lastName));
     }
 
     /**
@@ -97,13 +159,12 @@ public class MainController {
      * @return A list of customers with the provided email.
      */
     @GetMapping(path = RESTNouns.CUSTOMER + RESTNouns.EMAIL)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllCustomersUsingEmail(
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllCustomersUsingEmail(
             @RequestParam String email) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All customers with the email " + email + " retrieved!");
-        response.put("object", customerRepository.getAllCustomersByEmail(email));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        Iterable<Customer> customers = knownIdentityFilter.mightContainCustomerEmail(email)
+                ? customerRepository.getAllCustomersByEmail(email)
+                : List.of();
+        return ResponseEntity.ok(ApiResponse.ok(customers, ResponseMessages.ALL_CUSTOMERS_USING_EMAIL, email));
     }
 
     /**
@@ -115,10 +176,10 @@ public class MainController {
      * @param username  The chosen username for the account.
      * @param password  The plain-text password.
      * @param addressId The ID of the address to assign.
-     * @return A ResponseEntity with success or conflict if username is taken.
+     * @return A ResponseEntity with success or conflict if username is taken, completed once the password is hashed.
      */
     @PostMapping(path = RESTNouns.CUSTOMER + RESTNouns.REGISTER)
-    public ResponseEntity<Map<String, Object>> createCustomer(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createCustomer(
             @RequestParam String firstName,
             @RequestParam String lastName,
             @RequestParam LocalDate birthday,
@@ -128,10 +189,9 @@ public class MainController {
             @RequestParam Long addressId) {
         Map<String, Object> response = new HashMap<>();
 
+        // Always asks the database: another instance's filter may hold a username this one has not seen yet
         if (customerRepository.existsByUsername(username)) {
-            response.put("success", false);
-            response.put("message", "Username already exists. Please choose a new username.");
-            return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+            return CompletableFuture.completedFuture(usernameTaken(response));
         }
 
         Optional<Address> address = addressRepository.findById(addressId);
@@ -142,38 +202,57 @@ public class MainController {
         customer.setEmail(email);
         customer.setUsername(username);
         address.ifPresent(customer::setAddress);
-        customer.setPassword(passwordEncryptor.encryptPassword(password));
+        knownIdentityFilter.addCustomerUsername(username);
+        knownIdentityFilter.addCustomerEmail(email);
 
-        customerRepository.save(customer);
+        return passwordHashingService.encryptPassword(password).thenApplyAsync(encryptedPassword -> {
+            customer.setPassword(encryptedPassword);
+            try {
+                customerRepository.save(customer);
+            } catch (DataIntegrityViolationException e) {
+                // Lost the race against a concurrent registration of the same username
+                return usernameTaken(response);
+            }
 
-        response.put("success", true);
-        response.put("message", "Customer registration successful!");
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+            response.put("success", true);
+            response.put("message", "Customer registration successful!");
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }, taskExecutor);
     }
 
     /**
      * Authenticates a customer login by verifying username and password.
+     * On success the response carries a signed session token to send as {@code Authorization: Bearer <token>}.
      * @param username The login username.
      * @param password The plain-text password.
-     * @return A ResponseEntity indicating success or unauthorized.
+     * @return A ResponseEntity indicating success or unauthorized, completed once the password is verified.
      */
     @PostMapping(path = RESTNouns.CUSTOMER + RESTNouns.LOGIN)
-    public ResponseEntity<Map<String, Object>> loginCustomer(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> loginCustomer(
             @RequestParam String username,
             @RequestParam String password) {
         Map<String, Object> response = new HashMap<>();
-        Customer customer = customerRepository.findByUsername(username);
-
-        if (customer != null && passwordEncryptor.checkPassword(password, customer.getPassword())) {
-            response.put("message", "Login successful!");
-            response.put("customerId", customer.getId());
-            response.put("username", customer.getUsername());
-            return new ResponseEntity<>(response, HttpStatus.OK);
-        } else {
-            response.put("success", false);
-            response.put("message", "Invalid credentials.");
-            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
-        }
+        Customer customer = knownIdentityFilter.mightContainCustomerUsername(username)
+                ? customerRepository.findByUsername(username)
+                : null;
+
+        CompletableFuture<Boolean> verified = customer != null
+                ? passwordHashingService.checkPassword(password, customer.getPassword())
+                : CompletableFuture.completedFuture(false);
+        return verified.thenApply(valid -> {
+            if (valid) {
+                passwordRehashService.rehashCustomerIfOutdated(customer.getId(), password, customer.getPassword());
+                response.put("message", "Login successful!");
+                response.put("customerId", customer.getId());
+                response.put("username", customer.getUsername());
+                response.put("token", sessionTokenService.issueCustomerToken(customer.getId()));
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            } else {
+                response.put("success", false);
+                response.put("message", "Invalid credentials.");
+                return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+            }
+        });
     }
 
     /**
@@ -205,6 +284,7 @@ public class MainController {
                     customer.get().setBirthday(birthday);
                     customer.get().setEmail(email);
                     customer.get().setAddress(address.get());
+                    knownIdentityFilter.addCustomerEmail(email);
                     customerRepository.save(customer.get());
                 }
                 response.put("success", true);
@@ -228,7 +308,7 @@ public class MainController {
      * @return A ResponseEntity indicating result of password update.
      */
     @PutMapping(path = RESTNouns.CUSTOMER + RESTNouns.RESET + RESTNouns.ID)
-    public ResponseEntity<Map<String, Object>> resetCustomerPasswordById(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> resetCustomerPasswordById(
             @PathVariable("id") Long customerId,
             @RequestParam String oldPassword,
             @RequestParam String newPassword) {
@@ -236,33 +316,47 @@ public class MainController {
         Optional<Customer> customerOptional = customerRepository.findById(customerId);
         if (customerOptional.isPresent()) {
             Customer customer = customerOptional.get();
-            if (passwordEncryptor.checkPassword(oldPassword, customer.getPassword())) {
-                customer.setPassword(passwordEncryptor.encryptPassword(newPassword));
-                customerRepository.save(customer);
-                response.put("success", true);
-                response.put("message", "Customer password updated successfully!");
-                return new ResponseEntity<>(response, HttpStatus.OK);
-            } else {
-                response.put("success", false);
-                response.put("message", "Invalid credentials.");
-                return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
-            }
+            return passwordHashingService.checkPassword(oldPassword, customer.getPassword()).thenCompose(valid -> {
+                if (valid) {
+                    return passwordHashingService.encryptPassword(newPassword).thenApplyAsync(encryptedPassword -> {
+                        customer.setPassword(encryptedPassword);
+                        customerRepository.save(customer);
+                        response.put("success", true);
+                        response.put("message", "Customer password updated successfully!");
+                        return new ResponseEntity<>(response, HttpStatus.OK);
+                    }, taskExecutor);
+                } else {
+                    response.put("success", false);
+                    response.put("message", "Invalid credentials.");
+                    return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED));
+                }
+            });
         }
         response.put("success", false);
         response.put("message", "Account not found.");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.NOT_FOUND));
     }
 
     /**
-     * Deletes a customer from the database by their unique identifier.
+     * Deletes a customer from the database by their unique identifier, together with their homes, autos,
+     * accidents, quotes and policies. Dependents are removed with set-based statements rather than entity by entity.
      * @param customerId The unique identifier of the user to delete
+     * @param background True to purge in bounded chunks on a background thread, for customers with very large histories
      * @return A string message indicating the result of the deletion operation
      */
     @DeleteMapping(path = RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> deleteCustomerById(@PathVariable("id") Long customerId) {
+    public @ResponseBody ResponseEntity<Map<String, Object>> deleteCustomerById(
+            @PathVariable("id") Long customerId,
+            @RequestParam(defaultValue = "false") boolean background) {
         Map<String, Object> response = new HashMap<>();
         if (customerRepository.existsById(customerId)) {
-            customerRepository.deleteById(customerId);
+            if (background) {
+                customerPurgeService.purgeCustomerInBackground(customerId);
+                response.put("success", true);
+                response.put("message", "Customer with ID " + customerId + " is being deleted.");
+                return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+            }
+            customerPurgeService.purgeCustomer(customerId);
             response.put("success", true);
             response.put("message", "Customer with ID " + customerId + " deleted successfully!");
             return new ResponseEntity<>(response, HttpStatus.OK);
@@ -280,36 +374,42 @@ public class MainController {
      * @return A ResponseEntity containing all employees and a success message.
      */
     @GetMapping(path = RESTNouns.EMPLOYEE)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllEmployees() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All employees retrieved!");
-        response.put("object", employeeRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllEmployees() {
+        return ResponseEntity.ok(ApiResponse.ok(employeeRepository.findAll(), ResponseMessages.ALL_EMPLOYEES));
     }
 
     /**
      * Authenticates an employee login using username and password.
+     * On success the response carries a signed session token, with the admin role for admin employees.
      * @param username The employee's username.
      * @param password The plain-text password.
      * @return A ResponseEntity indicating login success or failure.
      */
     @PostMapping(path = RESTNouns.EMPLOYEE + RESTNouns.LOGIN)
-    public ResponseEntity<Map<String, Object>> loginEmployee(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> loginEmployee(
             @RequestParam String username,
             @RequestParam String password) {
         Map<String, Object> response = new HashMap<>();
-        Employee employee = employeeRepository.findByUsername(username);
-
-        if (employee != null && passwordEncryptor.checkPassword(password, employee.getPassword())) {
-            response.put("message", "Login successful!");
-            response.put("object", employee);
-            return new ResponseEntity<>(response, HttpStatus.OK);
-        } else {
-            response.put("success", false);
-            response.put("message", "Invalid credentials.");
-            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
-        }
+        Employee employee = knownIdentityFilter.mightContainEmployeeUsername(username)
+                ? employeeRepository.findByUsername(username)
+                : null;
+
+        CompletableFuture<Boolean> verified = employee != null
+                ? passwordHashingService.checkPassword(password, employee.getPassword())
+                : CompletableFuture.completedFuture(false);
+        return verified.thenApply(valid -> {
+            if (valid) {
+                passwordRehashService.rehashEmployeeIfOutdated(employee.getId(), password, employee.getPassword());
+                response.put("message", "Login successful!");
+                response.put("object", employee);
+                response.put("token", sessionTokenService.issueEmployeeToken(employee.getId(), employee.isAdmin()));
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            } else {
+                response.put("success", false);
+                response.put("message", "Invalid credentials.");
+                return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+            }
+        });
     }
 
     /**
@@ -355,7 +455,7 @@ public class MainController {
      * @return A ResponseEntity indicating update result.
      */
     @PutMapping(path = RESTNouns.EMPLOYEE + RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> employeeUpdateCustomerById(
+    public @ResponseBody CompletableFuture<ResponseEntity<Map<String, Object>>> employeeUpdateCustomerById(
             @PathVariable("id") Long customerId,
             @RequestParam String firstName,
             @RequestParam String lastName,
@@ -368,23 +468,31 @@ public class MainController {
         if (customerRepository.existsById(customerId) && addressRepository.existsById(addressId)) {
             Optional<Customer> customer = customerRepository.findById(customerId);
             Optional<Address> address = addressRepository.findById(addressId);
-            if(customer.isPresent() && address.isPresent()){
-                customer.get().setFirstName(firstName);
-                customer.get().setLastName(lastName);
-                customer.get().setBirthday(birthday);
-                customer.get().setEmail(email);
-                customer.get().setAddress(address.get());
-                customer.get().setUsername(username);
-                customer.get().setPassword(passwordEncryptor.encryptPassword(password));
-                customerRepository.save(customer.get());
-            }
-            response.put("success", true);
-            response.put("message", "Customer with ID " + customerId + " updated successfully!");
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return passwordHashingService.encryptPassword(password).thenApplyAsync(encryptedPassword -> {
+                if(customer.isPresent() && address.isPresent()){
+                    customer.get().setFirstName(firstName);
+                    customer.get().setLastName(lastName);
+                    customer.get().setBirthday(birthday);
+                    customer.get().setEmail(email);
+                    customer.get().setAddress(address.get());
+                    customer.get().setUsername(username);
+                    knownIdentityFilter.addCustomerUsername(username);
+                    knownIdentityFilter.addCustomerEmail(email);
+                    customer.get().setPassword(encryptedPassword);
+                    try {
+                        customerRepository.save(customer.get());
+                    } catch (DataIntegrityViolationException e) {
+                        return usernameTaken(response);
+                    }
+                }
+                response.put("success", true);
+                response.put("message", "Customer with ID " + customerId + " updated successfully!");
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            }, taskExecutor);
         } else {
             response.put("success", false);
             response.put("message", "Customer with ID " + customerId + " not found.");
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.NOT_FOUND));
         }
     }
 
@@ -396,7 +504,7 @@ public class MainController {
      * @return A ResponseEntity indicating success or unauthorized if the password is incorrect.
      */
     @PutMapping(path = RESTNouns.EMPLOYEE + RESTNouns.RESET + RESTNouns.ID)
-    public ResponseEntity<Map<String, Object>> resetEmployeePasswordById(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> resetEmployeePasswordById(
             @PathVariable("id") Long employeeId,
             @RequestParam String oldPassword,
             @RequestParam String newPassword) {
@@ -404,38 +512,192 @@ public class MainController {
         Optional<Employee> employeeOptional = employeeRepository.findById(employeeId);
         if (employeeOptional.isPresent()) {
             Employee employee = employeeOptional.get();
-            if (passwordEncryptor.checkPassword(oldPassword, employee.getPassword())) {
-                employee.setPassword(passwordEncryptor.encryptPassword(newPassword));
-                employeeRepository.save(employee);
-                response.put("success", true);
-                response.put("message", "Employee password updated successfully!");
-                return new ResponseEntity<>(response, HttpStatus.OK);
-            } else {
-                response.put("success", false);
-                response.put("message", "Invalid credentials.");
-                return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
-            }
+            return passwordHashingService.checkPassword(oldPassword, employee.getPassword()).thenCompose(valid -> {
+                if (valid) {
+                    return passwordHashingService.encryptPassword(newPassword).thenApplyAsync(encryptedPassword -> {
+                        employee.setPassword(encryptedPassword);
+                        employeeRepository.save(employee);
+                        response.put("success", true);
+                        response.put("message", "Employee password updated successfully!");
+                        return new ResponseEntity<>(response, HttpStatus.OK);
+                    }, taskExecutor);
+                } else {
+                    response.put("success", false);
+                    response.put("message", "Invalid credentials.");
+                    return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED));
+                }
+            });
         }
         response.put("success", false);
         response.put("message", "Account not found.");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.NOT_FOUND));
+    }
+
+    /* ********************************************* SESSION METHODS ********************************************** */
+
+    /**
+     * Describes the session token sent with the request, so clients can re-verify a user without re-sending
+     * credentials. The token is verified by {@link SessionTokenFilter} without a database lookup.
+     * @param session The verified session, or null if no token was sent.
+     * @return A ResponseEntity with the role, ID and expiry of the session, or unauthorized.
+     */
+    @GetMapping(path = RESTNouns.SESSION)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getCurrentSession(
+            @RequestAttribute(name = SessionTokenFilter.SESSION_ATTRIBUTE, required = false) SessionToken session) {
+        if (session == null) {
+            return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.NO_SESSION), HttpStatus.UNAUTHORIZED);
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("role", session.getRole());
+        details.put("id", session.getSubjectId());
+        details.put("expiresAt", session.getExpiresAt());
+        return ResponseEntity.ok(ApiResponse.ok(details, ResponseMessages.SESSION_VALID));
     }
 
     /* ********************************************** ADMIN METHODS *********************************************** */
 
     /**
      * Retrieves the current risk factors configuration.
+     * The ETag is the configuration version, so clients polling with If-None-Match get 304 until it changes.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing all risk factor values used in premium calculations.
      */
     @GetMapping(path = RESTNouns.ADMIN + RESTNouns.RISK)
-    public @ResponseBody ResponseEntity<Map<String, Object>> adminGetRiskFactors() {
+    public @ResponseBody ResponseEntity<ApiResponse<?>> adminGetRiskFactors(WebRequest webRequest) {
+        if (webRequest.checkNotModified(ChangeTracker.weakEtag("risk-" + riskFactors.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.ok(riskFactors, ResponseMessages.RISK_FACTORS));
+    }
+
+    /**
+     * Retrieves connection pool, request thread pool and password hashing telemetry.
+     * This route is exempt from load shedding so it stays reachable while the node is saturated.
+     * @return A ResponseEntity containing pool gauges and acquire-time and hash-time histograms.
+     */
+    @GetMapping(path = RESTNouns.ADMIN + RESTNouns.TELEMETRY)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> adminGetTelemetry() {
+        Map<String, Object> telemetry = new LinkedHashMap<>();
+        telemetry.put("connectionPool", poolTelemetry.connectionPoolSnapshot());
+        telemetry.put("requestThreads", poolTelemetry.requestThreadsSnapshot());
+        telemetry.put("virtualThreadPinning", virtualThreadPinningMonitor.snapshot());
+        telemetry.put("passwordHashing", passwordHashingService.snapshot());
+        telemetry.put("passwordRehash", passwordRehashService.snapshot());
+        telemetry.put("identityFilter", knownIdentityFilter.snapshot());
+        telemetry.put("loginRateLimit", loginRateLimitFilter.snapshot());
+        telemetry.put("readCoalescing", readCoalescingService.snapshot());
+        return ResponseEntity.ok(ApiResponse.ok(telemetry, ResponseMessages.TELEMETRY));
+    }
+
+    /**
+     * Retrieves Hibernate statistics: statements prepared per session, cache hit ratios, and the execution count,
+     * mean and max time of every query. Only populated while capstone.hibernate.statistics.enabled is true.
+     * @return A ResponseEntity containing the session factory totals and per-query statistics.
+     */
+    @GetMapping(path = RESTNouns.ADMIN + RESTNouns.QUERY_STATISTICS)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> adminGetQueryStatistics() {
+        return ResponseEntity.ok(ApiResponse.ok(hibernateStatisticsReport.snapshot(), ResponseMessages.QUERY_STATISTICS));
+    }
+
+    /**
+     * Clears the Hibernate statistics, so the next report only covers queries run after this call.
+     * @return A ResponseEntity containing a success message.
+     */
+    @DeleteMapping(path = RESTNouns.ADMIN + RESTNouns.QUERY_STATISTICS)
+    public @ResponseBody ResponseEntity<Map<String, Object>> adminResetQueryStatistics() {
         Map<String, Object> response = new HashMap<>();
+        hibernateStatisticsReport.reset();
         response.put("success", true);
-        response.put("message", "All risk factors retrieved!");
-        response.put("object", riskFactors);
+        response.put("message", "Query statistics cleared!");
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Records a JFR flight recording for the given number of seconds and returns the file.
+     * The request thread is released while recording; the response is sent once the recording stops.
+     * @param seconds How long to record, capped at capstone.diagnostics.max-recording-seconds.
+     * @param session The verified session; must be an admin session.
+     * @return A DeferredResult completed with the .jfr file, or an error if diagnostics are disabled.
+     */
+    @GetMapping(path = RESTNouns.ADMIN + RESTNouns.DIAGNOSTICS + RESTNouns.RECORDING)
+    public @ResponseBody DeferredResult<ResponseEntity<?>> adminRecordFlight(
+            @RequestParam(defaultValue = "30") int seconds,
+            @RequestAttribute(name = SessionTokenFilter.SESSION_ATTRIBUTE, required = false) SessionToken session) {
+        DeferredResult<ResponseEntity<?>> result =
+                new DeferredResult<>(diagnostics.getMaxRecordingDuration().plusSeconds(30).toMillis());
+        ResponseEntity<ApiResponse<?>> refusal = refuseDiagnostics(session);
+        if (refusal != null) {
+            result.setResult(refusal);
+            return result;
+        }
+        diagnostics.record(Duration.ofSeconds(seconds)).whenComplete((file, error) -> {
+            if (error != null) {
+                result.setErrorResult(error);
+                return;
+            }
+            result.setResult(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                    .body(new FileSystemResource(file)));
+        });
+        return result;
+    }
+
+    /**
+     * Retrieves a class histogram of the heap: the classes using the most memory, with instance counts and bytes.
+     * @param limit Number of classes to return, at most 1,000.
+     * @param live  True to count only reachable objects. This forces a full GC, so it is off by default.
+     * @param session The verified session; must be an admin session.
+     * @return A ResponseEntity containing the histogram, or an error if diagnostics are disabled.
+     */
+    @GetMapping(path = RESTNouns.ADMIN + RESTNouns.DIAGNOSTICS + RESTNouns.CLASS_HISTOGRAM)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> adminGetClassHistogram(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean live,
+            @RequestAttribute(name = SessionTokenFilter.SESSION_ATTRIBUTE, required = false) SessionToken session) {
+        ResponseEntity<ApiResponse<?>> refusal = refuseDiagnostics(session);
+        if (refusal != null) {
+            return refusal;
+        }
+        return ResponseEntity.ok(ApiResponse.ok(diagnostics.classHistogram(limit, live), ResponseMessages.CLASS_HISTOGRAM));
+    }
+
+    /**
+     * Retrieves a thread dump of all platform threads with their states and stacks.
+     * @param depth Maximum stack frames per thread, at most 256.
+     * @param session The verified session; must be an admin session.
+     * @return A ResponseEntity containing the thread dump, or an error if diagnostics are disabled.
+     */
+    @GetMapping(path = RESTNouns.ADMIN + RESTNouns.DIAGNOSTICS + RESTNouns.THREADS)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> adminGetThreadDump(
+            @RequestParam(defaultValue = "64") int depth,
+            @RequestAttribute(name = SessionTokenFilter.SESSION_ATTRIBUTE, required = false) SessionToken session) {
+        ResponseEntity<ApiResponse<?>> refusal = refuseDiagnostics(session);
+        if (refusal != null) {
+            return refusal;
+        }
+        return ResponseEntity.ok(ApiResponse.ok(diagnostics.threadDump(depth), ResponseMessages.THREAD_DUMP));
+    }
+
+    /**
+     * Checks a diagnostics request in the handler itself, rather than relying on the admin route filter alone.
+     * @param session The verified session, or null if no token was sent.
+     * @return The error response to send, or null if the request may proceed.
+     */
+    private ResponseEntity<ApiResponse<?>> refuseDiagnostics(SessionToken session) {
+        if (!diagnostics.isEnabled()) {
+            return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.DIAGNOSTICS_DISABLED), HttpStatus.NOT_FOUND);
+        }
+        if (session == null) {
+            return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.NO_SESSION), HttpStatus.UNAUTHORIZED);
+        }
+        if (!session.isAdmin()) {
+            return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.ADMIN_SESSION_REQUIRED), HttpStatus.FORBIDDEN);
+        }
+        return null;
+    }
+
     /**
      * Registers a new employee in the system. Username must be unique.
      * @param firstName The employee's first name.
@@ -446,7 +708,7 @@ public class MainController {
      * @return A ResponseEntity indicating success or conflict if username exists.
      */
     @PostMapping(path = RESTNouns.ADMIN + RESTNouns.REGISTER)
-    public ResponseEntity<Map<String, Object>> adminCreateEmployee(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> adminCreateEmployee(
             @RequestParam String firstName,
             @RequestParam String lastName,
             @RequestParam String email,
@@ -454,10 +716,9 @@ public class MainController {
             @RequestParam String password) {
         Map<String, Object> response = new HashMap<>();
 
+        // Always asks the database: another instance's filter may hold a username this one has not seen yet
         if (employeeRepository.existsByUsername(username)) {
-            response.put("success", false);
-            response.put("message", "Username already exists. Please choose a new username.");
-            return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+            return CompletableFuture.completedFuture(usernameTaken(response));
         }
 
         Employee employee = new Employee();
@@ -465,13 +726,21 @@ public class MainController {
         employee.setLastName(lastName);
         employee.setEmail(email);
         employee.setUsername(username);
-        employee.setPassword(passwordEncryptor.encryptPassword(password));
+        knownIdentityFilter.addEmployeeUsername(username);
 
-        employeeRepository.save(employee);
+        return passwordHashingService.encryptPassword(password).thenApplyAsync(encryptedPassword -> {
+            employee.setPassword(encryptedPassword);
+            try {
+                employeeRepository.save(employee);
+            } catch (DataIntegrityViolationException e) {
+                // Lost the race against a concurrent registration of the same username
+                return usernameTaken(response);
+            }
 
-        response.put("success", true);
-        response.put("message", "Employee registration successful!");
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+            response.put("success", true);
+            response.put("message", "Employee registration successful!");
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }, taskExecutor);
     }
 
     /**
@@ -486,7 +755,7 @@ public class MainController {
      * @return A ResponseEntity indicating update success or failure.
      */
     @PutMapping(path = RESTNouns.ADMIN + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> adminUpdateEmployeeById(
+    public @ResponseBody CompletableFuture<ResponseEntity<Map<String, Object>>> adminUpdateEmployeeById(
             @PathVariable("id") Long employeeId,
             @RequestParam String firstName,
             @RequestParam String lastName,
@@ -497,22 +766,29 @@ public class MainController {
         Map<String, Object> response = new HashMap<>();
         if (employeeRepository.existsById(employeeId)) {
             Optional<Employee> employee = employeeRepository.findById(employeeId);
-            if(employee.isPresent()){
-                employee.get().setFirstName(firstName);
-                employee.get().setLastName(lastName);
-                employee.get().setEmail(email);
-                employee.get().setUsername(username);
-                employee.get().setPassword(passwordEncryptor.encryptPassword(password));
-                employee.get().setAdmin(admin);
-                employeeRepository.save(employee.get());
-            }
-            response.put("success", true);
-            response.put("message", "Employee with ID " + employeeId + " updated successfully!");
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return passwordHashingService.encryptPassword(password).thenApplyAsync(encryptedPassword -> {
+                if(employee.isPresent()){
+                    employee.get().setFirstName(firstName);
+                    employee.get().setLastName(lastName);
+                    employee.get().setEmail(email);
+                    employee.get().setUsername(username);
+                    knownIdentityFilter.addEmployeeUsername(username);
+                    employee.get().setPassword(encryptedPassword);
+                    employee.get().setAdmin(admin);
+                    try {
+                        employeeRepository.save(employee.get());
+                    } catch (DataIntegrityViolationException e) {
+                        return usernameTaken(response);
+                    }
+                }
+                response.put("success", true);
+                response.put("message", "Employee with ID " + employeeId + " updated successfully!");
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            }, taskExecutor);
         } else {
             response.put("success", false);
             response.put("message", "Employee with ID " + employeeId + " not found.");
-            return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(response, HttpStatus.NOT_FOUND));
         }
     }
 
@@ -528,6 +804,7 @@ public class MainController {
         String pathName = ".\\src\\main\\java\\org\\example\\capstone\\config\\risk_factor_config.xml";
         File myObj = new File(pathName);
         try {
+            rf.setVersion(riskFactors.getVersion() + 1);
             riskFactors = rf;
             XStream xstream = new XStream();
             xstream.allowTypesByWildcard(new String[]{"org.example.capstone.**"});
@@ -539,7 +816,7 @@ public class MainController {
             response.put("message", "Config File '" + myObj.getName() + "' updated!");
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Risk factor config file {} could not be written.", myObj.getName(), e);
         }
         response.put("success", false);
         response.put("message", "Config File '" + myObj.getName() + "' could not be updated.");
@@ -573,35 +850,30 @@ public class MainController {
      * @return A ResponseEntity containing a list of all homes.
      */
     @GetMapping(path = RESTNouns.HOME)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllHomes() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All homes retrieved!");
-        response.put("object", homeRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllHomes() {
+        return ResponseEntity.ok(ApiResponse.ok(homeRepository.findAll(), ResponseMessages.ALL_HOMES));
     }
 
     /**
      * Retrieves all homes associated with a specific customer.
      * @param customerId The ID of the customer.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing the list of homes or a not found error.
      */
 
     @GetMapping(path = RESTNouns.HOME +  RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllHomesByCustomerId(@PathVariable("id") Long customerId) {
-        Map<String, Object> response = new HashMap<>();
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllHomesByCustomerId(@PathVariable("id") Long customerId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerId))) {
+            return null;
+        }
         if (customerRepository.existsById(customerId)) {
             Optional<Customer> customer = customerRepository.findById(customerId);
             if(customer.isPresent()){
-                response.put("success", true);
-                response.put("message", "All homes of customer ID " + customerId + " retrieved!");
-                response.put("object", homeRepository.getAllHomesByCustomer(customer.get()));
-                return new ResponseEntity<>(response, HttpStatus.OK);
+                return ResponseEntity.ok(ApiResponse.ok(homeRepository.getAllHomesByCustomer(customer.get()),
+                        ResponseMessages.ALL_HOMES_BY_CUSTOMER_ID, customerId));
             }
         }
-        response.put("success", false);
-        response.put("message", "Customer with ID " + customerId + " not found.");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.CUSTOMER_NOT_FOUND, customerId), HttpStatus.NOT_FOUND);
     }
 
     /**
@@ -727,12 +999,8 @@ public class MainController {
      * @return A ResponseEntity containing all addresses.
      */
     @GetMapping(path = RESTNouns.ADDRESS)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAddresses() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All addresses retrieved!");
-        response.put("object", addressRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAddresses() {
+        return ResponseEntity.ok(ApiResponse.ok(addressRepository.findAll(), ResponseMessages.ALL_ADDRESSES));
     }
 
     /**
@@ -741,16 +1009,15 @@ public class MainController {
      * @return A ResponseEntity containing the address or a not found error.
      */
     @GetMapping(path = RESTNouns.ADDRESS + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAddressById(@PathVariable("id") Long addressId) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Address with ID " + addressId + " retrieved!");
-        response.put("object", addressRepository.findById(addressId));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAddressById(@PathVariable("id") Long addressId) {
+        return ResponseEntity.ok(ApiResponse.ok(addressRepository.findById(addressId),
+                ResponseMessages.ADDRESS_BY_ID, addressId));
     }
 
     /**
      * Creates a new address or returns an existing one if duplicate found.
+     * Duplicates are detected with a single lookup on the normalized address hash; if a concurrent
+     * request inserts the same address first, the unique index rejects this insert and the winner is returned.
      * @param unit        The unit number.
      * @param street      The street name.
      * @param city        The city name.
@@ -766,26 +1033,35 @@ public class MainController {
             @RequestParam String province,
             @RequestParam String postalCode) {
         Map<String, Object> response = new HashMap<>();
-        if (addressRepository.existsByUnitAndStreetAndCityAndProvinceAndPostalCode(unit, street, city, province, postalCode)) {
-            Optional<Address> addressOptional = addressRepository.getAddressByUnitAndStreetAndCityAndProvinceAndPostalCode(unit, street, city, province, postalCode);
-            if(addressOptional.isPresent()) {
+        String addressHash = Address.hashOf(unit, street, city, province, postalCode);
+        Optional<Address> addressOptional = addressRepository.findByAddressHash(addressHash);
+        if (addressOptional.isEmpty()) {
+            Address address = new Address();
+            address.setUnit(unit);
+            address.setStreet(street);
+            address.setCity(city);
+            address.setProvince(province);
+            address.setPostalCode(postalCode);
+            try {
+                addressRepository.save(address);
                 response.put("success", true);
-                response.put("message", "Address exists already, returned address with ID " + addressOptional.get().getId() + " successfully!");
-                response.put("object", addressOptional.get());
-                return new ResponseEntity<>(response, HttpStatus.OK);
+                response.put("message", "Address created successfully!");
+                response.put("object", address);
+                return new ResponseEntity<>(response, HttpStatus.CREATED);
+            } catch (DataIntegrityViolationException e) {
+                // Lost the race against a concurrent insert of the same address
+                addressOptional = addressRepository.findByAddressHash(addressHash);
             }
         }
-        Address address = new Address();
-        address.setUnit(unit);
-        address.setStreet(street);
-        address.setCity(city);
-        address.setProvince(province);
-        address.setPostalCode(postalCode);
-        addressRepository.save(address);
-        response.put("success", true);
-        response.put("message", "Address created successfully!");
-        response.put("object", address);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        if (addressOptional.isPresent()) {
+            response.put("success", true);
+            response.put("message", "Address exists already, returned address with ID " + addressOptional.get().getId() + " successfully!");
+            response.put("object", addressOptional.get());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        response.put("success", false);
+        response.put("message", "Address could not be created.");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
     /**
@@ -815,7 +1091,13 @@ public class MainController {
                     address.get().setCity(city);
                     address.get().setProvince(province);
                     address.get().setPostalCode(postalCode);
-                    addressRepository.save(address.get());
+                    try {
+                        addressRepository.save(address.get());
+                    } catch (DataIntegrityViolationException e) {
+                        response.put("success", false);
+                        response.put("message", "Address with the same details already exists.");
+                        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+                    }
                 }
                 response.put("success", true);
                 response.put("message", "Address with ID " + addressId + " updated successfully!");
@@ -855,36 +1137,31 @@ public class MainController {
      * @return A ResponseEntity containing all auto records.
      */
     @GetMapping(path = RESTNouns.AUTO)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAutos() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All autos retrieved!");
-        response.put("object", autoRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAutos() {
+        return ResponseEntity.ok(ApiResponse.ok(autoRepository.findAll(), ResponseMessages.ALL_AUTOS));
     }
 
     /**
      * Retrieves all auto objects associated with a specific user.
      * @param customerId The unique identifier of the user whose auto objects are to be retrieved
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return An iterable collection of Auto entities belonging to the specified user,
      *         or null if the user does not exist
      */
 
     @GetMapping(path = RESTNouns.AUTO +  RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAutosByCustomerId(@PathVariable("id") Long customerId) {
-        Map<String, Object> response = new HashMap<>();
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAutosByCustomerId(@PathVariable("id") Long customerId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerId))) {
+            return null;
+        }
         if (customerRepository.existsById(customerId)) {
             Optional<Customer> customer = customerRepository.findById(customerId);
             if(customer.isPresent()){
-                response.put("success", true);
-                response.put("message", "All autos with customer ID "+ customerId +" retrieved!");
-                response.put("object", autoRepository.getAllByCustomerId(customerId));
-                return new ResponseEntity<>(response, HttpStatus.OK);
+                return ResponseEntity.ok(ApiResponse.ok(autoRepository.getAllByCustomerId(customerId),
+                        ResponseMessages.ALL_AUTOS_BY_CUSTOMER_ID, customerId));
             }
         }
-        response.put("success", false);
-        response.put("message", "Customer with ID " + customerId + " not found.");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.CUSTOMER_NOT_FOUND, customerId), HttpStatus.NOT_FOUND);
     }
 
     /**
@@ -982,12 +1259,8 @@ public class MainController {
      * @return A ResponseEntity containing all accidents.
      */
     @GetMapping(path = RESTNouns.ACCIDENT)
-        public @ResponseBody ResponseEntity<Map<String, Object>> getAllAccidents() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All accidents retrieved!");
-        response.put("object", accidentsRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAccidents() {
+        return ResponseEntity.ok(ApiResponse.ok(accidentsRepository.findAll(), ResponseMessages.ALL_ACCIDENTS));
         }
 
     /**
@@ -996,12 +1269,9 @@ public class MainController {
      * @return A ResponseEntity containing the accident or not found message.
      */
     @GetMapping(path = RESTNouns.ACCIDENT + RESTNouns.ID)
-        public @ResponseBody ResponseEntity<Map<String, Object>> getAccidentById(@PathVariable("id") Long accidentID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Accident with ID "+ accidentID +" retrieved!");
-        response.put("object", accidentsRepository.findById(accidentID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        public @ResponseBody ResponseEntity<ApiResponse<?>> getAccidentById(@PathVariable("id") Long accidentID) {
+        return ResponseEntity.ok(ApiResponse.ok(accidentsRepository.findById(accidentID),
+                ResponseMessages.ACCIDENT_BY_ID, accidentID));
         }
 
     /**
@@ -1086,12 +1356,8 @@ public class MainController {
      * @return A ResponseEntity containing all home quotes.
      */
     @GetMapping(path = RESTNouns.HOME_QUOTE)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllHomeQuotes() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All home quotes retrieved!");
-        response.put("object", homeQuoteRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllHomeQuotes() {
+        return ResponseEntity.ok(ApiResponse.ok(homeQuoteRepository.findAll(), ResponseMessages.ALL_HOME_QUOTES));
     }
 
     /**
@@ -1100,44 +1366,71 @@ public class MainController {
      * @return A ResponseEntity containing the quote or a not found message.
      */
     @GetMapping(path = RESTNouns.HOME_QUOTE + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getHomeQuoteById(@PathVariable("id") Long quoteID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Home quote with ID "+ quoteID +" retrieved!");
-        response.put("object", homeQuoteRepository.findById(quoteID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getHomeQuoteById(@PathVariable("id") Long quoteID) {
+        return ResponseEntity.ok(ApiResponse.ok(homeQuoteRepository.findById(quoteID),
+                ResponseMessages.HOME_QUOTE_BY_ID, quoteID));
+    }
+
+    /**
+     * Explains how a home quote's premium was calculated, from the factor breakdown stored with the quote.
+     * Nothing is re-priced, so the explanation uses the risk factors that were in force when the quote was made.
+     * Quotes moved to the archive are explained from the archive table.
+     * @param quoteID The ID of the home quote.
+     * @return A ResponseEntity containing the applied factors, or an error if the quote or its breakdown is missing.
+     */
+    @GetMapping(path = RESTNouns.HOME_QUOTE + RESTNouns.ID + RESTNouns.EXPLANATION)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> explainHomeQuoteById(@PathVariable("id") Long quoteID) {
+        Optional<PricedQuote> quote = homeQuoteRepository.findPricedQuoteById(quoteID)
+                .or(() -> homeQuoteArchiveRepository.findPricedQuoteById(quoteID));
+        return explainQuote(quote, quoteID,
+                ResponseMessages.HOME_QUOTE_EXPLANATION);
     }
 
     /**
      * Retrieves all home quotes for a specific customer.
-     * @param customerID The customer's ID.
+     * Archived quotes are only read when explicitly requested, so the default call touches the live table only.
+     * @param customerID      The customer's ID.
+     * @param includeArchived True to also return quotes moved to the archive.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing the list of quotes.
      */
     @GetMapping(path = RESTNouns.HOME_QUOTE + RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllHomeQuotesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All home quotes with customer ID " + customerID + " retrieved!");
-        response.put("object", homeQuoteRepository.getAllByCustId(customerID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllHomeQuotesByCustomerId(
+            @PathVariable("id") Long customerID,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerID))) {
+            return null;
+        }
+        if (includeArchived) {
+            List<Object> quotes = new ArrayList<>();
+            homeQuoteRepository.getAllByCustId(customerID).forEach(quotes::add);
+            homeQuoteArchiveRepository.getAllByCustId(customerID).forEach(quotes::add);
+            return ResponseEntity.ok(ApiResponse.ok(quotes,
+                    ResponseMessages.ALL_HOME_QUOTES_BY_CUSTOMER_ID, customerID));
+        }
+        return ResponseEntity.ok(ApiResponse.ok(homeQuoteRepository.getAllByCustId(customerID),
+                ResponseMessages.ALL_HOME_QUOTES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
      * Retrieves only active home quotes for a customer.
      * @param customerID The customer's ID.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing the list of active quotes.
      */
     @GetMapping(path = RESTNouns.HOME_QUOTE + RESTNouns.ACTIVE + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllActiveHomeQuotesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All active home quotes with customer ID " + customerID + " retrieved!");
-        response.put("object", homeQuoteRepository.getAllActiveByCustIdAndActive(customerID, true));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllActiveHomeQuotesByCustomerId(@PathVariable("id") Long customerID, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerID))) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.ok(homeQuoteRepository.getAllActiveByCustIdAndActive(customerID, true),
+                ResponseMessages.ALL_ACTIVE_HOME_QUOTES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
      * Creates a new home insurance quote based on customer and home information.
+     * The customer, home and existing auto policies are looked up concurrently.
      * @param customerId    The ID of the customer.
      * @param homeId        The ID of the home.
      * @param liability     The liability limit (e.g., 1000000 or 2000000).
@@ -1151,70 +1444,75 @@ public class MainController {
             @RequestParam int liability,
             @RequestParam boolean packagedQuote) {
         Map<String, Object> response = new HashMap<>();
-        if (customerRepository.existsById(customerId) && homeRepository.existsById(homeId)) {
-            Optional<Home> home = homeRepository.findById(homeId);
-            Optional<Customer> customer = customerRepository.findById(customerId);
-            if (home.isPresent() && customer.isPresent()) {
-                LocalDate today = LocalDate.now();
-                int homeAge = Period.between(home.get().getDateBuilt(), today).getYears();
-                double factor = 1;
-                if (liability == 2000000) {
-                    factor *= riskFactors.getHighLiability();
-                } else {
-                    factor *= riskFactors.getLowLiability();
-                }
-                if (homeAge > 50) {
-                    factor *= riskFactors.getHomeOldAge();
-                } else if (homeAge > 25) {
-                    factor *= riskFactors.getHomeMidAge();
-                } else {
-                    factor *= riskFactors.getHomeNewAge();
-                }
-                if (home.get().getHeatingType() == Home.HeatingType.OIL_HEATING) {
-                    factor *= riskFactors.getHeatingOil();
-                } else if (home.get().getHeatingType() == Home.HeatingType.WOOD_HEATING) {
-                    factor *= riskFactors.getHeatingWood();
-                } else if (home.get().getHeatingType() == Home.HeatingType.ELECTRIC_HEATING) {
-                    factor *= riskFactors.getHeatingElectric();
-                } else if (home.get().getHeatingType() == Home.HeatingType.GAS_HEATING) {
-                    factor *= riskFactors.getHeatingGas();
-                } else if (home.get().getHeatingType() == Home.HeatingType.OTHER_HEATING) {
-                    factor *= riskFactors.getHeatingOther();
-                }
-                if (home.get().getLocation() == Home.Location.RURAL) {
-                    factor *= riskFactors.getRural();
-                } else {
-                    factor *= riskFactors.getUrban();
-                }
-                if (packagedQuote) {
-                    factor *= riskFactors.getDiscountForBoth();
-                } else if (autoPolicyRepository.getAllByCustId(customerId).iterator().hasNext()) {
-                    double factorAdjust = 1;
-                    for (AutoPolicy policy : autoPolicyRepository.getAllByCustId(customerId)) {
-                        if (policy.getActive()) {
-                            factorAdjust = riskFactors.getDiscountForBoth();
-                            break;
-                        }
-                    }
-                    factor *= factorAdjust;
-                }
-                double addPremium = (home.get().getHomeValue() > riskFactors.getHomeValueBaseLine()) ? home.get().getHomeValue() * riskFactors.getHomeValuePercentage() : 0;
-                double premium = (riskFactors.getHomeBasePremium() + addPremium) * factor * (riskFactors.getTaxRate() + 1);
-                premium = Double.parseDouble(decimalFormatter.format(premium));
-                HomeQuote quote = new HomeQuote();
-                quote.setPremium(premium);
-                quote.setGenerationDate(today);
-                quote.setLiabilityLimit(liability);
-                quote.setTaxRate(riskFactors.getTaxRate());
-                quote.setHome(home.get());
-                quote.setBasePremium(riskFactors.getHomeBasePremium());
-                quote.setCustId(customer.get().getId());
-                homeQuoteRepository.save(quote);
-                response.put("success", true);
-                response.put("message", "Home Quote created successfully!");
-//                response.put("object", quote);
-                return new ResponseEntity<>(response, HttpStatus.CREATED);
+        QuoteLookupService.HomeQuoteInputs inputs = quoteLookupService.lookupHomeQuoteInputs(customerId, homeId, packagedQuote);
+        Optional<Home> home = inputs.home();
+        Optional<Customer> customer = inputs.customer();
+        if (home.isPresent() && customer.isPresent()) {
+            Timer.Sample pricing = Timer.start();
+            QuotePricingEvent pricingEvent = new QuotePricingEvent();
+            pricingEvent.begin();
+            LocalDate today = LocalDate.now();
+            int homeAge = Period.between(home.get().getDateBuilt(), today).getYears();
+            RiskFactors factors = riskFactors;
+            FactorBreakdown breakdown = new FactorBreakdown(factors.getVersion());
+            double factor = 1;
+            if (liability == 2000000) {
+                factor *= breakdown.apply(Factor.LIABILITY, "high", factors.getHighLiability());
+            } else {
+                factor *= breakdown.apply(Factor.LIABILITY, "low", factors.getLowLiability());
+            }
+            if (homeAge > 50) {
+                factor *= breakdown.apply(Factor.HOME_AGE, "old", factors.getHomeOldAge());
+            } else if (homeAge > 25) {
+                factor *= breakdown.apply(Factor.HOME_AGE, "mid", factors.getHomeMidAge());
+            } else {
+                factor *= breakdown.apply(Factor.HOME_AGE, "new", factors.getHomeNewAge());
+            }
+            if (home.get().getHeatingType() == Home.HeatingType.OIL_HEATING) {
+                factor *= breakdown.apply(Factor.HEATING, "oil", factors.getHeatingOil());
+            } else if (home.get().getHeatingType() == Home.HeatingType.WOOD_HEATING) {
+                factor *= breakdown.apply(Factor.HEATING, "wood", factors.getHeatingWood());
+            } else if (home.get().getHeatingType() == Home.HeatingType.ELECTRIC_HEATING) {
+                factor *= breakdown.apply(Factor.HEATING, "electric", factors.getHeatingElectric());
+            } else if (home.get().getHeatingType() == Home.HeatingType.GAS_HEATING) {
+                factor *= breakdown.apply(Factor.HEATING, "gas", factors.getHeatingGas());
+            } else if (home.get().getHeatingType() == Home.HeatingType.OTHER_HEATING) {
+                factor *= breakdown.apply(Factor.HEATING, "other", factors.getHeatingOther());
+            }
+            if (home.get().getLocation() == Home.Location.RURAL) {
+                factor *= breakdown.apply(Factor.LOCATION, "rural", factors.getRural());
+            } else {
+                factor *= breakdown.apply(Factor.LOCATION, "urban", factors.getUrban());
             }
+            if (packagedQuote || inputs.hasActiveAutoPolicy()) {
+                factor *= breakdown.apply(Factor.BUNDLE, "applied", factors.getDiscountForBoth());
+            }
+            double addPremium = breakdown.surcharge((home.get().getHomeValue() > factors.getHomeValueBaseLine()) ? home.get().getHomeValue() * factors.getHomeValuePercentage() : 0);
+            double premium = (factors.getHomeBasePremium() + addPremium) * factor * (factors.getTaxRate() + 1);
+            premium = Double.parseDouble(decimalFormatter.format(premium));
+            RequestTiming.recordPricing(pricing.stop(quoteMetrics.pricingTimer(QuoteMetrics.HOME)));
+            pricingEvent.end();
+            if (pricingEvent.shouldCommit()) {
+                pricingEvent.endpoint = "home_quote";
+                pricingEvent.riskFactorVersion = factors.getVersion();
+                pricingEvent.premium = premium;
+                pricingEvent.commit();
+            }
+            HomeQuote quote = new HomeQuote();
+            quote.setPremium(premium);
+            quote.setGenerationDate(today);
+            quote.setLiabilityLimit(liability);
+            quote.setTaxRate(factors.getTaxRate());
+            quote.setHome(home.get());
+            quote.setBasePremium(factors.getHomeBasePremium());
+            quote.setCustId(customer.get().getId());
+            quote.setFactorBreakdown(breakdown.encode());
+            homeQuoteRepository.save(quote);
+            quoteMetrics.quoteCreated(QuoteMetrics.HOME);
+            response.put("success", true);
+            response.put("message", "Home Quote created successfully!");
+//                response.put("object", quote);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
         }
         response.put("success", false);
         response.put("message", "Customer with ID " + customerId + " not found.");
@@ -1255,12 +1553,8 @@ public class MainController {
      * @return A ResponseEntity containing a list of all auto quotes.
      */
     @GetMapping(path = RESTNouns.AUTO_QUOTE)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAutoQuotes() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All auto quotes retrieved");
-        response.put("object", autoQuoteRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAutoQuotes() {
+        return ResponseEntity.ok(ApiResponse.ok(autoQuoteRepository.findAll(), ResponseMessages.ALL_AUTO_QUOTES));
     }
 
     /**
@@ -1269,44 +1563,71 @@ public class MainController {
      * @return A ResponseEntity containing the quote or a not found message.
      */
     @GetMapping(path = RESTNouns.AUTO_QUOTE + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAutoQuoteById(@PathVariable("id") Long quoteID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Auto quote with ID " + quoteID + " retrieved!");
-        response.put("object", autoQuoteRepository.findById(quoteID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAutoQuoteById(@PathVariable("id") Long quoteID) {
+        return ResponseEntity.ok(ApiResponse.ok(autoQuoteRepository.findById(quoteID),
+                ResponseMessages.AUTO_QUOTE_BY_ID, quoteID));
+    }
+
+    /**
+     * Explains how an auto quote's premium was calculated, from the factor breakdown stored with the quote.
+     * Nothing is re-priced, so the explanation uses the risk factors that were in force when the quote was made.
+     * Quotes moved to the archive are explained from the archive table.
+     * @param quoteID The ID of the auto quote.
+     * @return A ResponseEntity containing the applied factors, or an error if the quote or its breakdown is missing.
+     */
+    @GetMapping(path = RESTNouns.AUTO_QUOTE + RESTNouns.ID + RESTNouns.EXPLANATION)
+    public @ResponseBody ResponseEntity<ApiResponse<?>> explainAutoQuoteById(@PathVariable("id") Long quoteID) {
+        Optional<PricedQuote> quote = autoQuoteRepository.findPricedQuoteById(quoteID)
+                .or(() -> autoQuoteArchiveRepository.findPricedQuoteById(quoteID));
+        return explainQuote(quote, quoteID,
+                ResponseMessages.AUTO_QUOTE_EXPLANATION);
     }
 
     /**
      * Retrieves all auto quotes for a specific customer.
-     * @param customerID The ID of the customer.
+     * Archived quotes are only read when explicitly requested, so the default call touches the live table only.
+     * @param customerID      The ID of the customer.
+     * @param includeArchived True to also return quotes moved to the archive.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity with the list of quotes.
      */
     @GetMapping(path = RESTNouns.AUTO_QUOTE + RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAutoQuotesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All auto quotes with customer ID " + customerID + " retrieved!");
-        response.put("object", autoQuoteRepository.getAllByCustId(customerID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAutoQuotesByCustomerId(
+            @PathVariable("id") Long customerID,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerID))) {
+            return null;
+        }
+        if (includeArchived) {
+            List<Object> quotes = new ArrayList<>();
+            autoQuoteRepository.getAllByCustId(customerID).forEach(quotes::add);
+            autoQuoteArchiveRepository.getAllByCustId(customerID).forEach(quotes::add);
+            return ResponseEntity.ok(ApiResponse.ok(quotes,
+                    ResponseMessages.ALL_AUTO_QUOTES_BY_CUSTOMER_ID, customerID));
+        }
+        return ResponseEntity.ok(ApiResponse.ok(autoQuoteRepository.getAllByCustId(customerID),
+                ResponseMessages.ALL_AUTO_QUOTES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
      * Retrieves all active auto quotes for a specific customer.
      * @param customerID The ID of the customer.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity with the list of active quotes.
      */
     @GetMapping(path = RESTNouns.AUTO_QUOTE + RESTNouns.ACTIVE + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllActiveAutoQuotesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All active auto quotes with customer ID " + customerID + " retrieved!");
-        response.put("object", autoQuoteRepository.getAllActiveByCustIdAndActive(customerID, true));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllActiveAutoQuotesByCustomerId(@PathVariable("id") Long customerID, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerID))) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.ok(autoQuoteRepository.getAllActiveByCustIdAndActive(customerID, true),
+                ResponseMessages.ALL_ACTIVE_AUTO_QUOTES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
      * Creates a new auto insurance quote for a customer and vehicle.
+     * The customer, vehicle, recent accidents and existing home policies are looked up concurrently.
      * @param customerId    The ID of the customer.
      * @param autoId        The ID of the vehicle.
      * @param packagedQuote True if the customer is bundling with a home policy.
@@ -1318,66 +1639,66 @@ public class MainController {
             @PathVariable("additional_id") Long autoId,
             @RequestParam boolean packagedQuote) {
         Map<String, Object> response = new HashMap<>();
-        if (customerRepository.existsById(customerId) && autoRepository.existsById(autoId)) {
-            Optional<Auto> auto = autoRepository.findById(autoId);
-            Optional<Customer> customer = customerRepository.findById(customerId);
-            if (auto.isPresent() && customer.isPresent()) {
-                LocalDate today = LocalDate.now();
-                int age = Period.between(customer.get().getBirthday(), today).getYears();
-                double factor = 1;
-                if (age < 25) {
-                    factor *= riskFactors.getDriverYoung();
-                } else {
-                    factor *= riskFactors.getDriverOld();
-                }
-                int accidentCount = 0;
-                Iterable<Accident> accidents = accidentsRepository.getAllAccidentsByCustomer(customer.get());
-                for (Accident accident : accidents) {
-                    if (accident.getDate().isAfter(today.minusYears(5))) {
-                        accidentCount++;
-                    }
-                }
-                if (accidentCount > 1) {
-                    factor *= riskFactors.getAccidentsMany();
-                } else if (accidentCount == 1) {
-                    factor *= riskFactors.getAccidentsFew();
-                } else {
-                    factor *= riskFactors.getAccidentsNone();
-                }
-                if (today.getYear() - auto.get().getYear() > 10) {
-                    factor *= riskFactors.getVehicleOld();
-                } else if (today.getYear() - auto.get().getYear() > 5) {
-                    factor *= riskFactors.getVehicleMid();
-                } else {
-                    factor *= riskFactors.getVehicleNew();
-                }
-                if (packagedQuote) {
-                    factor *= riskFactors.getDiscountForBoth();
-                } else if (homePolicyRepository.getAllByCustId(customerId).iterator().hasNext()) {
-                    double factorAdjust = 1;
-                    for (HomePolicy policy : homePolicyRepository.getAllByCustId(customerId)) {
-                        if (policy.getActive()) {
-                            factorAdjust = riskFactors.getDiscountForBoth();
-                            break;
-                        }
-                    }
-                    factor *= factorAdjust;
-                }
-                double premium = riskFactors.getAutoBasePremium() * factor * (riskFactors.getTaxRate() + 1);
-                premium = Double.parseDouble(decimalFormatter.format(premium));
-                AutoQuote quote = new AutoQuote();
-                quote.setGenerationDate(today);
-                quote.setPremium(premium);
-                quote.setTaxRate(riskFactors.getTaxRate());
-                quote.setAuto(auto.get());
-                quote.setBasePremium(riskFactors.getAutoBasePremium());
-                quote.setCustId(customer.get().getId());
-                autoQuoteRepository.save(quote);
-                response.put("success", true);
-                response.put("message", "Auto Quote created successfully!");
-//                response.put("object", quote);
-                return new ResponseEntity<>(response, HttpStatus.CREATED);
+        LocalDate today = LocalDate.now();
+        QuoteLookupService.AutoQuoteInputs inputs =
+                quoteLookupService.lookupAutoQuoteInputs(customerId, autoId, packagedQuote, today.minusYears(5));
+        Optional<Auto> auto = inputs.auto();
+        Optional<Customer> customer = inputs.customer();
+        if (auto.isPresent() && customer.isPresent()) {
+            Timer.Sample pricing = Timer.start();
+            QuotePricingEvent pricingEvent = new QuotePricingEvent();
+            pricingEvent.begin();
+            int age = Period.between(customer.get().getBirthday(), today).getYears();
+            RiskFactors factors = riskFactors;
+            FactorBreakdown breakdown = new FactorBreakdown(factors.getVersion());
+            double factor = 1;
+            if (age < 25) {
+                factor *= breakdown.apply(Factor.DRIVER_AGE, "young", factors.getDriverYoung());
+            } else {
+                factor *= breakdown.apply(Factor.DRIVER_AGE, "old", factors.getDriverOld());
+            }
+            long accidentCount = inputs.recentAccidents();
+            if (accidentCount > 1) {
+                factor *= breakdown.apply(Factor.ACCIDENTS, "many", factors.getAccidentsMany());
+            } else if (accidentCount == 1) {
+                factor *= breakdown.apply(Factor.ACCIDENTS, "few", factors.getAccidentsFew());
+            } else {
+                factor *= breakdown.apply(Factor.ACCIDENTS, "none", factors.getAccidentsNone());
+            }
+            if (today.getYear() - auto.get().getYear() > 10) {
+                factor *= breakdown.apply(Factor.VEHICLE_AGE, "old", factors.getVehicleOld());
+            } else if (today.getYear() - auto.get().getYear() > 5) {
+                factor *= breakdown.apply(Factor.VEHICLE_AGE, "mid", factors.getVehicleMid());
+            } else {
+                factor *= breakdown.apply(Factor.VEHICLE_AGE, "new", factors.getVehicleNew());
             }
+            if (packagedQuote || inputs.hasActiveHomePolicy()) {
+                factor *= breakdown.apply(Factor.BUNDLE, "applied", factors.getDiscountForBoth());
+            }
+            double premium = factors.getAutoBasePremium() * factor * (factors.getTaxRate() + 1);
+            premium = Double.parseDouble(decimalFormatter.format(premium));
+            RequestTiming.recordPricing(pricing.stop(quoteMetrics.pricingTimer(QuoteMetrics.AUTO)));
+            pricingEvent.end();
+            if (pricingEvent.shouldCommit()) {
+                pricingEvent.endpoint = "auto_quote";
+                pricingEvent.riskFactorVersion = factors.getVersion();
+                pricingEvent.premium = premium;
+                pricingEvent.commit();
+            }
+            AutoQuote quote = new AutoQuote();
+            quote.setGenerationDate(today);
+            quote.setPremium(premium);
+            quote.setTaxRate(factors.getTaxRate());
+            quote.setAuto(auto.get());
+            quote.setBasePremium(factors.getAutoBasePremium());
+            quote.setCustId(customer.get().getId());
+            quote.setFactorBreakdown(breakdown.encode());
+            autoQuoteRepository.save(quote);
+            quoteMetrics.quoteCreated(QuoteMetrics.AUTO);
+            response.put("success", true);
+            response.put("message", "Auto Quote created successfully!");
+//                response.put("object", quote);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
         }
         response.put("success", false);
         response.put("message", "Customer with ID " + customerId + " not found.");
@@ -1418,12 +1739,8 @@ public class MainController {
      * @return A ResponseEntity containing all home policies.
      */
     @GetMapping(path = RESTNouns.HOME_POLICY)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllHomePolicies() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All home policies retrieved!");
-        response.put("object", homePolicyRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllHomePolicies() {
+        return ResponseEntity.ok(ApiResponse.ok(homePolicyRepository.findAll(), ResponseMessages.ALL_HOME_POLICIES));
     }
 
     /**
@@ -1432,40 +1749,65 @@ public class MainController {
      * @return A ResponseEntity containing the policy or not found message.
      */
     @GetMapping(path = RESTNouns.HOME_POLICY + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getHomePolicyById(@PathVariable("id") Long policyId) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Home policy with ID " + policyId + " retrieved.");
-        response.put("object", homePolicyRepository.findById(policyId));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getHomePolicyById(@PathVariable("id") Long policyId) {
+        return ResponseEntity.ok(ApiResponse.ok(homePolicyRepository.findById(policyId),
+                ResponseMessages.HOME_POLICY_BY_ID, policyId));
     }
 
     /**
      * Retrieves all home policies for a specific customer.
      * @param customerID The customer's ID.
+     * @param fields     Optional comma-separated property names; plain columns are selected with a narrow query.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing the list of policies.
      */
     @GetMapping(path = RESTNouns.HOME_POLICY + RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllHomePoliciesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All home policies with customer ID " + customerID + " retrieved!");
-        response.put("object", homePolicyRepository.getAllByCustId(customerID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllHomePoliciesByCustomerId(
+            @PathVariable("id") Long customerID,
+            @RequestParam(name = FieldSelection.PARAMETER, required = false) String fields,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerID))) {
+            return null;
+        }
+        Set<String> selected = FieldSelection.parse(fields);
+        if (selected != null) {
+            List<Map<String, Object>> rows = projectionQueries.findProjected(HomePolicy.class, selected,
+                    Map.of("custId", customerID.intValue()));
+            if (rows != null) {
+                return ResponseEntity.ok(ApiResponse.ok(rows, ResponseMessages.ALL_HOME_POLICIES_BY_CUSTOMER_ID, customerID));
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.ok(homePolicyRepository.getAllByCustId(customerID),
+                ResponseMessages.ALL_HOME_POLICIES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
      * Retrieves only active home policies for a customer.
+     * Concurrent reads for the same unchanged customer share one database load.
      * @param customerID The customer's ID.
+     * @param fields     Optional comma-separated property names; plain columns are selected with a narrow query.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing active home policies.
      */
     @GetMapping(path = RESTNouns.HOME_POLICY + RESTNouns.ACTIVE + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllActiveHomePoliciesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All active home policies with customer ID " + customerID + " retrieved!");
-        response.put("object", homePolicyRepository.getAllActiveByCustIdAndActive(customerID, true));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllActiveHomePoliciesByCustomerId(
+            @PathVariable("id") Long customerID,
+            @RequestParam(name = FieldSelection.PARAMETER, required = false) String fields,
+            WebRequest webRequest) {
+        String etag = changeTracker.customerEtag(customerID);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        Set<String> selected = FieldSelection.parse(fields);
+        if (selected != null) {
+            List<Map<String, Object>> rows = projectionQueries.findProjected(HomePolicy.class, selected,
+                    Map.of("custId", customerID.intValue(), "active", true));
+            if (rows != null) {
+                return ResponseEntity.ok(ApiResponse.ok(rows, ResponseMessages.ALL_ACTIVE_HOME_POLICIES_BY_CUSTOMER_ID, customerID));
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.ok(readCoalescingService.activeHomePolicies(customerID, etag),
+                ResponseMessages.ALL_ACTIVE_HOME_POLICIES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
@@ -1494,6 +1836,7 @@ public class MainController {
             homePolicyRepository.save(policy);
             quote.setActive(false);
             homeQuoteRepository.save(quote);
+            quoteMetrics.policyBound(QuoteMetrics.HOME);
             response.put("success", true);
             response.put("message", "Home Policy created successfully!");
 //            response.put("object", policy);
@@ -1541,12 +1884,8 @@ public class MainController {
      * @return A ResponseEntity containing all auto policies.
      */
     @GetMapping(path = RESTNouns.AUTO_POLICY)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAutoPolicies() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All auto policies retrieved!");
-        response.put("object", autoPolicyRepository.findAll());
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAutoPolicies() {
+        return ResponseEntity.ok(ApiResponse.ok(autoPolicyRepository.findAll(), ResponseMessages.ALL_AUTO_POLICIES));
     }
 
     /**
@@ -1555,40 +1894,65 @@ public class MainController {
      * @return A ResponseEntity containing the policy or not found message.
      */
     @GetMapping(path = RESTNouns.AUTO_POLICY + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAutoPolicyById(@PathVariable("id") Long policyId) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "Auto policy with ID " + policyId + " retrieved!");
-        response.put("object", autoPolicyRepository.findById(policyId));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAutoPolicyById(@PathVariable("id") Long policyId) {
+        return ResponseEntity.ok(ApiResponse.ok(autoPolicyRepository.findById(policyId),
+                ResponseMessages.AUTO_POLICY_BY_ID, policyId));
     }
 
     /**
      * Retrieves all auto policies for a customer.
      * @param customerID The ID of the customer.
+     * @param fields     Optional comma-separated property names; plain columns are selected with a narrow query.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing the customer's auto policies.
      */
     @GetMapping(path = RESTNouns.AUTO_POLICY + RESTNouns.CUSTOMER + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllAutoPoliciesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All auto policies with customer ID " + customerID + " retrieved!");
-        response.put("object", autoPolicyRepository.getAllByCustId(customerID));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllAutoPoliciesByCustomerId(
+            @PathVariable("id") Long customerID,
+            @RequestParam(name = FieldSelection.PARAMETER, required = false) String fields,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.customerEtag(customerID))) {
+            return null;
+        }
+        Set<String> selected = FieldSelection.parse(fields);
+        if (selected != null) {
+            List<Map<String, Object>> rows = projectionQueries.findProjected(AutoPolicy.class, selected,
+                    Map.of("custId", customerID.intValue()));
+            if (rows != null) {
+                return ResponseEntity.ok(ApiResponse.ok(rows, ResponseMessages.ALL_AUTO_POLICIES_BY_CUSTOMER_ID, customerID));
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.ok(autoPolicyRepository.getAllByCustId(customerID),
+                ResponseMessages.ALL_AUTO_POLICIES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
      * Retrieves all active auto policies for a customer.
+     * Concurrent reads for the same unchanged customer share one database load.
      * @param customerID The ID of the customer.
+     * @param fields     Optional comma-separated property names; plain columns are selected with a narrow query.
+     * @param webRequest The current request, used to answer If-None-Match with 304 Not Modified.
      * @return A ResponseEntity containing only active policies.
      */
     @GetMapping(path = RESTNouns.AUTO_POLICY + RESTNouns.ACTIVE + RESTNouns.ID)
-    public @ResponseBody ResponseEntity<Map<String, Object>> getAllActiveAutoPoliciesByCustomerId(@PathVariable("id") Long customerID) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", "All active auto policies with customer ID " + customerID + " retrieved!");
-        response.put("object", autoPolicyRepository.getAllActiveByCustIdAndActive(customerID, true));
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public @ResponseBody ResponseEntity<ApiResponse<?>> getAllActiveAutoPoliciesByCustomerId(
+            @PathVariable("id") Long customerID,
+            @RequestParam(name = FieldSelection.PARAMETER, required = false) String fields,
+            WebRequest webRequest) {
+        String etag = changeTracker.customerEtag(customerID);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        Set<String> selected = FieldSelection.parse(fields);
+        if (selected != null) {
+            List<Map<String, Object>> rows = projectionQueries.findProjected(AutoPolicy.class, selected,
+                    Map.of("custId", customerID.intValue(), "active", true));
+            if (rows != null) {
+                return ResponseEntity.ok(ApiResponse.ok(rows, ResponseMessages.ALL_ACTIVE_AUTO_POLICIES_BY_CUSTOMER_ID, customerID));
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.ok(readCoalescingService.activeAutoPolicies(customerID, etag),
+                ResponseMessages.ALL_ACTIVE_AUTO_POLICIES_BY_CUSTOMER_ID, customerID));
     }
 
     /**
@@ -1616,6 +1980,7 @@ public class MainController {
             autoPolicyRepository.save(policy);
             quote.setActive(false);
             autoQuoteRepository.save(quote);
+            quoteMetrics.policyBound(QuoteMetrics.AUTO);
             response.put("success", true);
             response.put("message", "Auto Policy created successfully!");
 //            response.put("object", policy);
@@ -1655,4 +2020,79 @@ public class MainController {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Builds the explain response for a quote loaded through {@link PricedQuote}.
+     * @param quote   The quote's pricing columns, if the quote exists.
+     * @param quoteId The ID of the quote.
+     * @param message The success message.
+     * @return A ResponseEntity with the decoded breakdown, or not found if the quote or its breakdown is missing.
+     */
+    private ResponseEntity<ApiResponse<?>> explainQuote(Optional<PricedQuote> quote, Long quoteId, MessageTemplate message) {
+        if (quote.isEmpty()) {
+            return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.QUOTE_NOT_FOUND, quoteId), HttpStatus.NOT_FOUND);
+        }
+        if (quote.get().getFactorBreakdown() == null) {
+            return new ResponseEntity<>(ApiResponse.failure(ResponseMessages.NO_FACTOR_BREAKDOWN, quoteId), HttpStatus.NOT_FOUND);
+        }
+        FactorBreakdown breakdown = FactorBreakdown.decode(quote.get().getFactorBreakdown());
+        return ResponseEntity.ok(ApiResponse.ok(breakdown.explain(quote.get().getBasePremium(),
+                quote.get().getTaxRate(), quote.get().getPremium()), message, quoteId));
+    }
+
+    /**
+     * Fills in the conflict response for a username that is already in use.
+     * @param response The response map to fill.
+     * @return A conflict ResponseEntity.
+     */
+    private ResponseEntity<Map<String, Object>> usernameTaken(Map<String, Object> response) {
+        response.put("success", false);
+        response.put("message", "Username already exists. Please choose a new username.");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /* ******************************************** ERROR HANDLING ************************************************ */
+
+    /**
+     * Answers quote requests whose lookups did not complete within the quote deadline.
+     * @param e The timeout raised by the quote lookups.
+     * @return A ResponseEntity with service unavailable.
+     */
+    @ExceptionHandler(QuoteLookupTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleQuoteLookupTimeout(QuoteLookupTimeoutException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Quote could not be generated in time. Please retry.");
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Answers authentication requests that could not be queued for password hashing.
+     * @param e The rejection raised by the hashing executor.
+     * @return A ResponseEntity with service unavailable and a Retry-After header.
+     */
+    @ExceptionHandler(HashingRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleHashingRejected(HashingRejectedException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Too many authentication requests. Please retry shortly.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(hashingRetryAfterSeconds))
+                .body(response);
+    }
+
+    /**
+     * Answers diagnostics requests made while the same kind of diagnostic is already running.
+     * @param e The rejection raised by the diagnostics concurrency limit.
+     * @return A ResponseEntity with too many requests and a Retry-After header.
+     */
+    @ExceptionHandler(DiagnosticsBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleDiagnosticsBusy(DiagnosticsBusyException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(diagnosticsRetryAfterSeconds))
+                .body(response);
+    }
+
 }
\ No newline at end of file
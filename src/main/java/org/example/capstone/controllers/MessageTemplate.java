@@ -0,0 +1,95 @@
+package org.example.capstone.controllers;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A response message with {@code {}} placeholders, split into its literal parts once when the constant is created.
+ * <p>
+ * Arguments are only substituted when the response is serialized, so a handler never builds the message string
+ * itself. Messages without placeholders are kept pre-encoded and written as-is.
+ */
+public final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "{}";
+
+    private final String pattern;
+    private final String[] parts;
+    private final SerializedString constant;
+
+    private MessageTemplate(String pattern, String[] parts) {
+        this.pattern = pattern;
+        this.parts = parts;
+        this.constant = parts.length == 1 ? new SerializedString(pattern) : null;
+    }
+
+    /**
+     * Parses a message pattern.
+     * @param pattern The message, with {@code {}} marking each argument.
+     * @return The parsed template.
+     */
+    public static MessageTemplate of(String pattern) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = pattern.indexOf(PLACEHOLDER, start)) >= 0) {
+            parts.add(pattern.substring(start, index));
+            start = index + PLACEHOLDER.length();
+        }
+        parts.add(pattern.substring(start));
+        return new MessageTemplate(pattern, parts.toArray(new String[0]));
+    }
+
+    /**
+     * @return The number of arguments the template expects.
+     */
+    public int getArity() {
+        return parts.length - 1;
+    }
+
+    /**
+     * @return The pre-encoded message, or null if the template has placeholders.
+     */
+    public SerializedString getConstant() {
+        return constant;
+    }
+
+    /**
+     * Appends the message with its arguments substituted. Missing arguments are written as the placeholder.
+     * @param target The builder to append to.
+     * @param args   The arguments, in placeholder order.
+     */
+    public void appendTo(StringBuilder target, Object[] args) {
+        target.append(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            if (i - 1 < args.length) {
+                target.append(args[i - 1]);
+            } else {
+                target.append(PLACEHOLDER);
+            }
+            target.append(parts[i]);
+        }
+    }
+
+    /**
+     * Formats the message into a new string. Only meant for logging and tests; responses go through
+     * {@link #appendTo(StringBuilder, Object[])}.
+     * @param args The arguments, in placeholder order.
+     * @return The formatted message.
+     */
+    public String format(Object... args) {
+        if (constant != null) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        appendTo(builder, args);
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
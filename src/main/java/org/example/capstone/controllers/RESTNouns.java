@@ -18,6 +18,12 @@ public class RESTNouns {
     public static final String EMAIL = "/email";
     public static final String NAME = "/name";
     public static final String RISK = "/risk";
+    public static final String TELEMETRY = "/telemetry";
+    public static final String QUERY_STATISTICS = "/query_statistics";
+    public static final String EXPLANATION = "/explanation";
+    public static final String DIAGNOSTICS = "/diagnostics";
+    public static final String RECORDING = "/recording";
+    public static final String CLASS_HISTOGRAM = "/class_histogram";
     public static final String ID = "/{id}";
     public static final String ADDITIONAL_ID = "/{additional_id}";
 
@@ -37,5 +43,7 @@ public class RESTNouns {
     public static final String AUTO_QUOTE = "/auto_quotes";
     public static final String AUTO_POLICY = "/auto_policies";
     public static final String ACTIVE = "/actives";
+    public static final String SESSION = "/sessions";
+    public static final String THREADS = "/threads";
 
 }
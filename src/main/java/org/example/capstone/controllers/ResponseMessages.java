@@ -0,0 +1,55 @@
+package org.example.capstone.controllers;
+
+/**
+ * Response messages used with {@link ApiResponse}. Each is parsed once here; {@code {}} marks an argument
+ * that is filled in when the response is written.
+ */
+public final class ResponseMessages {
+
+    private ResponseMessages() {
+    }
+
+    public static final MessageTemplate ALL_CUSTOMERS = MessageTemplate.of("All customers retrieved!");
+    public static final MessageTemplate CUSTOMER_BY_ID = MessageTemplate.of("Customer with the ID {} retrieved!");
+    public static final MessageTemplate ALL_CUSTOMERS_USING_NAME = MessageTemplate.of("All customers named {} {} retrieved!");
+    public static final MessageTemplate ALL_CUSTOMERS_USING_EMAIL = MessageTemplate.of("All customers with the email {} retrieved!");
+    public static final MessageTemplate ALL_EMPLOYEES = MessageTemplate.of("All employees retrieved!");
+    public static final MessageTemplate RISK_FACTORS = MessageTemplate.of("All risk factors retrieved!");
+    public static final MessageTemplate TELEMETRY = MessageTemplate.of("Telemetry retrieved!");
+    public static final MessageTemplate QUERY_STATISTICS = MessageTemplate.of("Query statistics retrieved!");
+    public static final MessageTemplate CLASS_HISTOGRAM = MessageTemplate.of("Class histogram retrieved!");
+    public static final MessageTemplate THREAD_DUMP = MessageTemplate.of("Thread dump retrieved!");
+    public static final MessageTemplate DIAGNOSTICS_DISABLED = MessageTemplate.of("Diagnostics are disabled.");
+    public static final MessageTemplate ADMIN_SESSION_REQUIRED = MessageTemplate.of("Admin session required.");
+    public static final MessageTemplate ALL_HOMES = MessageTemplate.of("All homes retrieved!");
+    public static final MessageTemplate ALL_ADDRESSES = MessageTemplate.of("All addresses retrieved!");
+    public static final MessageTemplate ADDRESS_BY_ID = MessageTemplate.of("Address with ID {} retrieved!");
+    public static final MessageTemplate ALL_AUTOS = MessageTemplate.of("All autos retrieved!");
+    public static final MessageTemplate ALL_ACCIDENTS = MessageTemplate.of("All accidents retrieved!");
+    public static final MessageTemplate ACCIDENT_BY_ID = MessageTemplate.of("Accident with ID {} retrieved!");
+    public static final MessageTemplate ALL_HOME_QUOTES = MessageTemplate.of("All home quotes retrieved!");
+    public static final MessageTemplate HOME_QUOTE_BY_ID = MessageTemplate.of("Home quote with ID {} retrieved!");
+    public static final MessageTemplate ALL_ACTIVE_HOME_QUOTES_BY_CUSTOMER_ID = MessageTemplate.of("All active home quotes with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_AUTO_QUOTES = MessageTemplate.of("All auto quotes retrieved");
+    public static final MessageTemplate AUTO_QUOTE_BY_ID = MessageTemplate.of("Auto quote with ID {} retrieved!");
+    public static final MessageTemplate ALL_ACTIVE_AUTO_QUOTES_BY_CUSTOMER_ID = MessageTemplate.of("All active auto quotes with customer ID {} retrieved!");
+    public static final MessageTemplate HOME_QUOTE_EXPLANATION = MessageTemplate.of("Explanation of home quote with ID {} retrieved!");
+    public static final MessageTemplate AUTO_QUOTE_EXPLANATION = MessageTemplate.of("Explanation of auto quote with ID {} retrieved!");
+    public static final MessageTemplate QUOTE_NOT_FOUND = MessageTemplate.of("Quote with ID {} not found.");
+    public static final MessageTemplate NO_FACTOR_BREAKDOWN = MessageTemplate.of("Quote with ID {} was priced before factor breakdowns were recorded.");
+    public static final MessageTemplate ALL_HOME_POLICIES = MessageTemplate.of("All home policies retrieved!");
+    public static final MessageTemplate HOME_POLICY_BY_ID = MessageTemplate.of("Home policy with ID {} retrieved.");
+    public static final MessageTemplate ALL_HOME_POLICIES_BY_CUSTOMER_ID = MessageTemplate.of("All home policies with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_ACTIVE_HOME_POLICIES_BY_CUSTOMER_ID = MessageTemplate.of("All active home policies with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_AUTO_POLICIES = MessageTemplate.of("All auto policies retrieved!");
+    public static final MessageTemplate AUTO_POLICY_BY_ID = MessageTemplate.of("Auto policy with ID {} retrieved!");
+    public static final MessageTemplate ALL_AUTO_POLICIES_BY_CUSTOMER_ID = MessageTemplate.of("All auto policies with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_ACTIVE_AUTO_POLICIES_BY_CUSTOMER_ID = MessageTemplate.of("All active auto policies with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_HOMES_BY_CUSTOMER_ID = MessageTemplate.of("All homes of customer ID {} retrieved!");
+    public static final MessageTemplate ALL_AUTOS_BY_CUSTOMER_ID = MessageTemplate.of("All autos with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_HOME_QUOTES_BY_CUSTOMER_ID = MessageTemplate.of("All home quotes with customer ID {} retrieved!");
+    public static final MessageTemplate ALL_AUTO_QUOTES_BY_CUSTOMER_ID = MessageTemplate.of("All auto quotes with customer ID {} retrieved!");
+    public static final MessageTemplate CUSTOMER_NOT_FOUND = MessageTemplate.of("Customer with ID {} not found.");
+    public static final MessageTemplate NO_SESSION = MessageTemplate.of("No session.");
+    public static final MessageTemplate SESSION_VALID = MessageTemplate.of("Session is valid.");
+}
@@ -4,6 +4,8 @@ import org.example.capstone.pojos.Accident;
 import org.example.capstone.pojos.Customer;
 import org.springframework.data.repository.CrudRepository;
 
+import java.time.LocalDate;
+
 /**
  * Repository interface for performing CRUD operations on {@link Accident} entities.
  * Extends {@link CrudRepository} to inherit basic CRUD methods.
@@ -16,4 +18,12 @@ public interface AccidentsRepository extends CrudRepository<Accident, Long> {
      * @return An iterable collection of {@link Accident} entities.
      */
     Iterable<Accident> getAllAccidentsByCustomer(Customer customer);
+
+    /**
+     * Counts a customer's accidents after a given date, without loading them.
+     * @param customerId The customer's ID.
+     * @param date       Only accidents strictly after this date are counted.
+     * @return The number of matching accidents.
+     */
+    long countByCustomerIdAndDateAfter(Integer customerId, LocalDate date);
 }
@@ -20,24 +20,15 @@ public interface AddressRepository extends CrudRepository<Address, Long> {
     Iterable<Address> getAllAddressessById(Long id);
 
     /**
-     * Checks if an address exists by matching all address components.
-     * @param unit        The unit number of the address.
-     * @param street      The street name.
-     * @param city        The city.
-     * @param province    The province.
-     * @param postalCode  The postal code.
-     * @return True if a matching address exists, otherwise false.
+     * Retrieves an address by its normalized hash. Served by the unique index on {@code address_hash}.
+     * @param addressHash The hash produced by {@link Address#hashOf}.
+     * @return An {@link Optional} containing the matching address, if found.
      */
-    boolean existsByUnitAndStreetAndCityAndProvinceAndPostalCode(Integer unit, String street, String city, String province, String postalCode);
+    Optional<Address> findByAddressHash(String addressHash);
 
     /**
-     * Retrieves an address by matching all components of the address.
-     * @param unit        The unit number of the address.
-     * @param street      The street name.
-     * @param city        The city.
-     * @param province    The province.
-     * @param postalCode  The postal code.
-     * @return An {@link Optional} containing the matching address, if found.
+     * Retrieves all addresses saved before the hash column existed.
+     * @return An iterable collection of addresses without a hash.
      */
-    Optional<Address> getAddressByUnitAndStreetAndCityAndProvinceAndPostalCode(Integer unit, String street, String city, String province, String postalCode);
+    Iterable<Address> findAllByAddressHashIsNull();
 }
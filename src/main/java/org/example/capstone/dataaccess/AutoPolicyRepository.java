@@ -1,7 +1,13 @@
 package org.example.capstone.dataaccess;
 
 import org.example.capstone.pojos.AutoPolicy;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Repository interface for managing {@link AutoPolicy} entities.
@@ -32,4 +38,57 @@ public interface AutoPolicyRepository extends CrudRepository<AutoPolicy, Long> {
      * @return An iterable of {@link AutoPolicy} entities filtered by active status.
      */
     Iterable<AutoPolicy> getAllActiveByCustIdAndActive(Long customerID, boolean active);
+
+    /**
+     * Checks whether a customer has any auto policy with the given active status, without loading the policies.
+     * @param customerId The customer's ID.
+     * @param active     The active status to look for.
+     * @return True if at least one matching policy exists.
+     */
+    boolean existsByCustIdAndActive(Long customerId, boolean active);
+
+    /**
+     * Returns the next chunk of active policy IDs whose end date has passed, in ID order.
+     * The rows are not locked; {@link #deactivateExpired} re-checks the predicate when it updates them.
+     * @param afterId Only IDs greater than this are returned (keyset position).
+     * @param today   Policies ending before this date are expired.
+     * @param limit   Maximum number of IDs to return.
+     * @return The policy IDs, in ascending order.
+     */
+    @Query(value = "SELECT id FROM auto_policy WHERE id > :afterId AND active = true AND end_date < :today"
+            + " ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Integer> findExpiredIds(@Param("afterId") int afterId, @Param("today") LocalDate today, @Param("limit") int limit);
+
+    /**
+     * Marks the given policies inactive if they are still active and past their end date.
+     * @param ids   The policy IDs to deactivate.
+     * @param today Policies ending before this date are expired.
+     * @return The number of policies deactivated.
+     */
+    @Modifying
+    @Query(value = "UPDATE auto_policy SET active = false WHERE id IN (:ids) AND active = true AND end_date < :today",
+            nativeQuery = true)
+    int deactivateExpired(@Param("ids") List<Integer> ids, @Param("today") LocalDate today);
+
+    /**
+     * Returns the next chunk of active policy IDs ending within the given date range, in ID order.
+     * @param afterId Only IDs greater than this are returned (keyset position).
+     * @param from    First end date in the window (inclusive).
+     * @param to      Last end date in the window (inclusive).
+     * @param limit   Maximum number of IDs to return.
+     * @return The policy IDs, in ascending order.
+     */
+    @Query(value = "SELECT id FROM auto_policy WHERE id > :afterId AND active = true AND end_date BETWEEN :from AND :to"
+            + " ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Integer> findExpiringIds(@Param("afterId") int afterId, @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to, @Param("limit") int limit);
+
+    /**
+     * Counts the policies with the given active status ending within the given date range.
+     * @param active Whether to count active (true) or inactive (false) policies.
+     * @param from   First end date in the window (inclusive).
+     * @param to     Last end date in the window (inclusive).
+     * @return The number of matching policies.
+     */
+    long countByActiveAndEndDateBetween(boolean active, LocalDate from, LocalDate to);
 }
@@ -1,7 +1,14 @@
 package org.example.capstone.dataaccess;
 
 import org.example.capstone.pojos.AutoQuote;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link AutoQuote} entities.
@@ -9,6 +16,14 @@ import org.springframework.data.repository.CrudRepository;
  */
 public interface AutoQuoteRepository extends CrudRepository<AutoQuote, Long> {
 
+    /**
+     * Archiving predicate: inactive quotes older than {@code :inactiveCutoff} and active quotes older than
+     * {@code :expiredCutoff}. Written per value of {@code active} so both halves are range scans of the
+     * {@code (active, generation_date)} index.
+     */
+    String ARCHIVABLE = "((active = false AND generation_date < :inactiveCutoff)"
+            + " OR (active = true AND generation_date < :expiredCutoff))";
+
     /**
      * Retrieves all auto quotes with the given quote ID.
      * Note: This may be redundant with {@code findById(Long)} unless multiple results are expected.
@@ -32,4 +47,55 @@ public interface AutoQuoteRepository extends CrudRepository<AutoQuote, Long> {
      * @return An iterable list of {@link AutoQuote} entities filtered by active status.
      */
     Iterable<AutoQuote> getAllActiveByCustIdAndActive(Long customerID, boolean active);
+
+    /**
+     * Loads only the pricing columns of a quote, for explaining its premium.
+     * @param quoteId The ID of the auto quote.
+     * @return The quote's premium, base premium, tax rate and factor breakdown, if the quote exists.
+     */
+    Optional<PricedQuote> findPricedQuoteById(Long quoteId);
+
+    /**
+     * Returns the next chunk of quote IDs that are due for archiving, in ID order.
+     * A quote is due when it is inactive and older than {@code inactiveCutoff},
+     * or when it is older than {@code expiredCutoff} whether or not it was bound.
+     * The rows are not locked; {@link #copyToArchive} re-checks the predicate.
+     * @param afterId        Only IDs greater than this are returned (keyset position).
+     * @param inactiveCutoff Generation date before which inactive quotes are archived; not before {@code expiredCutoff}.
+     * @param expiredCutoff  Generation date before which any quote is archived.
+     * @param limit          Maximum number of IDs to return.
+     * @return The quote IDs, in ascending order.
+     */
+    @Query(value = "SELECT id FROM auto_quote WHERE id > :afterId AND " + ARCHIVABLE
+            + " ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Integer> findArchivableIds(@Param("afterId") int afterId,
+                                    @Param("inactiveCutoff") LocalDate inactiveCutoff,
+                                    @Param("expiredCutoff") LocalDate expiredCutoff,
+                                    @Param("limit") int limit);
+
+    /**
+     * Copies those of the given quotes that are still due for archiving into {@code auto_quote_archive}.
+     * @param ids            The quote IDs to copy.
+     * @param inactiveCutoff Generation date before which inactive quotes are archived; not before {@code expiredCutoff}.
+     * @param expiredCutoff  Generation date before which any quote is archived.
+     * @param archivedDate   The date recorded as the archive date.
+     * @return The number of rows copied.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO auto_quote_archive (id, generation_date, active, premium, base_premium, tax_rate, auto_id, cust_id, factor_breakdown, archived_date)"
+            + " SELECT id, generation_date, active, premium, base_premium, tax_rate, auto_id, cust_id, factor_breakdown, :archivedDate FROM auto_quote WHERE id IN (:ids) AND " + ARCHIVABLE, nativeQuery = true)
+    int copyToArchive(@Param("ids") List<Integer> ids,
+                      @Param("inactiveCutoff") LocalDate inactiveCutoff,
+                      @Param("expiredCutoff") LocalDate expiredCutoff,
+                      @Param("archivedDate") LocalDate archivedDate);
+
+    /**
+     * Deletes those of the given quotes that have been copied into {@code auto_quote_archive}.
+     * @param ids The quote IDs to delete.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM auto_quote WHERE id IN (:ids) AND id IN (SELECT id FROM auto_quote_archive WHERE id IN (:ids))",
+            nativeQuery = true)
+    int deleteArchivedByIdIn(@Param("ids") List<Integer> ids);
 }
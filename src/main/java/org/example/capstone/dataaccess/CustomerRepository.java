@@ -1,7 +1,16 @@
 package org.example.capstone.dataaccess;
 
+import jakarta.persistence.QueryHint;
 import org.example.capstone.pojos.Customer;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Customer} entities.
@@ -47,4 +56,27 @@ public interface CustomerRepository extends CrudRepository<Customer, Long> {
      */
     Iterable<Customer> getAllCustomersByEmail(String email);
 
+    /**
+     * Streams every customer username and email, for populating the in-memory existence filter.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     * @return A stream of {username, email} pairs.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.username, c.email FROM Customer c")
+    Stream<Object[]> streamAllUsernamesAndEmails();
+
+    /**
+     * Replaces a customer's password hash only if it still holds the expected hash, so an upgrade
+     * computed from an old hash never overwrites a password changed in the meantime.
+     * @param id          The customer's ID.
+     * @param currentHash The hash the upgrade was computed from.
+     * @param newHash     The replacement hash.
+     * @return 1 if the hash was replaced, 0 if it had changed.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Customer c SET c.password = :newHash WHERE c.id = :id AND c.password = :currentHash")
+    int updatePasswordIfUnchanged(@Param("id") Integer id, @Param("currentHash") String currentHash,
+                                  @Param("newHash") String newHash);
+
 }
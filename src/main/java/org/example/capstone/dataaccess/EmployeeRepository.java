@@ -1,8 +1,17 @@
 package org.example.capstone.dataaccess;
 
+import jakarta.persistence.QueryHint;
 import org.example.capstone.pojos.Employee;
 import org.example.capstone.pojos.Home;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Employee} entities.
@@ -32,4 +41,28 @@ public interface EmployeeRepository extends CrudRepository<Employee, Long> {
      * @return The matching {@link Employee}, or null if not found.
      */
     Employee findByUsername(String username);
+
+    /**
+     * Streams every employee username, for populating the in-memory existence filter.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     * @return A stream of usernames.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.username FROM Employee e")
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Replaces a employee's password hash only if it still holds the expected hash, so an upgrade
+     * computed from an old hash never overwrites a password changed in the meantime.
+     * @param id          The employee's ID.
+     * @param currentHash The hash the upgrade was computed from.
+     * @param newHash     The replacement hash.
+     * @return 1 if the hash was replaced, 0 if it had changed.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Employee e SET e.password = :newHash WHERE e.id = :id AND e.password = :currentHash")
+    int updatePasswordIfUnchanged(@Param("id") Integer id, @Param("currentHash") String currentHash,
+                                  @Param("newHash") String newHash);
+
 }
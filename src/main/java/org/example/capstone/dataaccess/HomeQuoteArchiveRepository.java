@@ -0,0 +1,27 @@
+package org.example.capstone.dataaccess;
+
+import org.example.capstone.pojos.HomeQuoteArchive;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for reading archived {@link HomeQuoteArchive} entities.
+ * Rows are only ever written by the quote archival job.
+ */
+public interface HomeQuoteArchiveRepository extends CrudRepository<HomeQuoteArchive, Long> {
+
+    /**
+     * Retrieves all archived home quotes for a given customer.
+     * @param customerID The ID of the customer.
+     * @return An iterable list of {@link HomeQuoteArchive} entities associated with the customer.
+     */
+    Iterable<HomeQuoteArchive> getAllByCustId(Long customerID);
+
+    /**
+     * Loads only the pricing columns of an archived quote, for explaining its premium.
+     * @param quoteId The ID the quote had in the live table.
+     * @return The quote's premium, base premium, tax rate and factor breakdown, if the quote was archived.
+     */
+    Optional<PricedQuote> findPricedQuoteById(Long quoteId);
+}
@@ -0,0 +1,16 @@
+package org.example.capstone.dataaccess;
+
+/**
+ * Closed projection of the pricing columns of a home or auto quote. Loading a quote through it selects only
+ * these columns, without joining the quoted home or vehicle.
+ */
+public interface PricedQuote {
+
+    double getPremium();
+
+    double getBasePremium();
+
+    double getTaxRate();
+
+    String getFactorBreakdown();
+}
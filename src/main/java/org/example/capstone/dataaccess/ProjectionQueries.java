@@ -0,0 +1,94 @@
+package org.example.capstone.dataaccess;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs narrow projection queries for sparse fieldsets: only the requested columns are selected, and each row is
+ * returned as a map from property name to value, which serializes like the entity restricted to those properties.
+ */
+@Repository
+public class ProjectionQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects the given properties of every entity matching all of the criteria.
+     * <p>
+     * Only plain column properties can be projected. If any requested property is an association (such as a
+     * policy's home), nothing is queried and null is returned so the caller loads full entities instead.
+     * Unknown property names are ignored, as they are when serializing full entities.
+     * @param entityType The entity class.
+     * @param fields     The property names to select, in output order.
+     * @param criteria   Property names and the values they must equal.
+     * @return The projected rows, or null if the fields cannot be projected.
+     */
+    @Transactional(readOnly = true)
+    public <E> List<Map<String, Object>> findProjected(Class<E> entityType, Collection<String> fields,
+                                                        Map<String, Object> criteria) {
+        EntityType<E> model = entityManager.getMetamodel().entity(entityType);
+        List<String> columns = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            Attribute<? super E, ?> attribute = findAttribute(model, field);
+            if (attribute == null) {
+                continue;
+            }
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                return null;
+            }
+            columns.add(field);
+        }
+        if (columns.isEmpty()) {
+            return null;
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            selections.add(root.get(column).alias(column));
+        }
+        List<Predicate> predicates = new ArrayList<>(criteria.size());
+        for (Map.Entry<String, Object> criterion : criteria.entrySet()) {
+            predicates.add(builder.equal(root.get(criterion.getKey()), criterion.getValue()));
+        }
+        query.multiselect(selections).where(predicates.toArray(new Predicate[0]));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String column : columns) {
+                row.put(column, tuple.get(column));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static <E> Attribute<? super E, ?> findAttribute(EntityType<E> model, String name) {
+        for (Attribute<? super E, ?> attribute : model.getAttributes()) {
+            if (attribute.getName().equals(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.capstone.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.capstone.controllers.RESTNouns;
+import org.example.capstone.telemetry.PoolTelemetry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that sheds load when the node is saturated, instead of letting requests pile up on
+ * Tomcat threads until the node stalls.
+ * <p>
+ * A request is rejected up front with {@code 503 Service Unavailable} and a {@code Retry-After} header when
+ * too many threads are already waiting for a database connection, when recent connection acquire times are
+ * above the threshold, or when too many requests are queued for a worker thread. The checks only read
+ * counters kept by {@link PoolTelemetry}, so a rejection costs almost nothing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String BUSY_RESPONSE = "{\"success\":false,\"message\":\"Server is busy. Please retry shortly.\"}";
+
+    @Autowired private PoolTelemetry poolTelemetry;
+
+    @Value("${capstone.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${capstone.admission.max-pending-connections:20}")
+    private int maxPendingConnections;
+
+    @Value("${capstone.admission.max-acquire-ms:500}")
+    private double maxAcquireMillis;
+
+    @Value("${capstone.admission.max-queue-depth:50}")
+    private int maxQueueDepth;
+
+    @Value("${capstone.admission.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Keep telemetry, diagnostics and CORS preflights reachable while shedding
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || request.getRequestURI().endsWith(RESTNouns.ADMIN + RESTNouns.TELEMETRY)
+                || request.getRequestURI().contains(RESTNouns.ADMIN + RESTNouns.DIAGNOSTICS + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isSaturated()) {
+            poolTelemetry.recordShedRequest();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BUSY_RESPONSE);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isSaturated() {
+        return poolTelemetry.getPendingConnectionRequests() >= maxPendingConnections
+                || poolTelemetry.getRecentAcquireMillis() >= maxAcquireMillis
+                || poolTelemetry.getRequestQueueDepth() >= maxQueueDepth;
+    }
+}
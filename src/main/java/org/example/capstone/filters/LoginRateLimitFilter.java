@@ -0,0 +1,119 @@
+package org.example.capstone.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.capstone.controllers.RESTNouns;
+import org.example.capstone.services.TokenBucketLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Servlet filter that rate limits the customer and employee login endpoints per client address and per username.
+ * <p>
+ * Each login attempt takes a token from the caller's address bucket and from the username's bucket before any
+ * database lookup or password hash happens. When either bucket is empty the attempt is answered with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header. If a limiter's map is full, new keys share
+ * one overflow bucket until the next eviction sweep. Client addresses come from
+ * {@link HttpServletRequest#getRemoteAddr()}, so deployments behind a proxy should set
+ * {@code server.forward-headers-strategy}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_RESPONSE = "{\"success\":false,\"message\":\"Too many login attempts. Please retry later.\"}";
+    private static final String CUSTOMER_LOGIN = RESTNouns.VERSION_1 + RESTNouns.CUSTOMER + RESTNouns.LOGIN;
+    private static final String EMPLOYEE_LOGIN = RESTNouns.VERSION_1 + RESTNouns.EMPLOYEE + RESTNouns.LOGIN;
+
+    /** Decodes the path and strips {@code ;} parameters and duplicate slashes, as handler mapping does. */
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final boolean enabled;
+    private final TokenBucketLimiter addressLimiter;
+    private final TokenBucketLimiter usernameLimiter;
+
+    /**
+     * Creates the filter.
+     * @param enabled                 Whether login attempts are limited at all.
+     * @param addressCapacity         Burst size per client address.
+     * @param addressRefillPerMinute  Sustained attempts per minute per client address.
+     * @param usernameCapacity        Burst size per username.
+     * @param usernameRefillPerMinute Sustained attempts per minute per username.
+     * @param maxKeys                 Maximum number of addresses, and of usernames, tracked at once.
+     */
+    public LoginRateLimitFilter(@Value("${capstone.login-rate-limit.enabled:true}") boolean enabled,
+                                @Value("${capstone.login-rate-limit.address.capacity:30}") int addressCapacity,
+                                @Value("${capstone.login-rate-limit.address.refill-per-minute:60}") double addressRefillPerMinute,
+                                @Value("${capstone.login-rate-limit.username.capacity:5}") int usernameCapacity,
+                                @Value("${capstone.login-rate-limit.username.refill-per-minute:5}") double usernameRefillPerMinute,
+                                @Value("${capstone.login-rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.addressLimiter = new TokenBucketLimiter(addressCapacity, addressRefillPerMinute / 60, maxKeys);
+        this.usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute / 60, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        return !path.equals(CUSTOMER_LOGIN) && !path.equals(EMPLOYEE_LOGIN);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitMillis = addressLimiter.tryAcquire(request.getRemoteAddr());
+        String username = request.getParameter("username");
+        if (waitMillis == 0 && username != null) {
+            String path = PATH_HELPER.getPathWithinApplication(request);
+            String realm = path.equals(CUSTOMER_LOGIN) ? "customer:" : "employee:";
+            waitMillis = usernameLimiter.tryAcquire(realm + username.strip().toLowerCase(Locale.ROOT));
+        }
+        if (waitMillis > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(LIMITED_RESPONSE);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops buckets that have refilled completely, keeping the maps small between bursts. This is the only place
+     * buckets are evicted, so login requests never pay for a sweep.
+     */
+    @Scheduled(fixedDelayString = "${capstone.login-rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        addressLimiter.evictIdle();
+        usernameLimiter.evictIdle();
+    }
+
+    /**
+     * Describes both limiters for telemetry.
+     * @return Tracked keys and allowed, rejected and overflow counts per limiter.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("byAddress", addressLimiter.snapshot());
+        snapshot.put("byUsername", usernameLimiter.snapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.capstone.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.capstone.controllers.RESTNouns;
+import org.example.capstone.telemetry.RequestTiming;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Servlet filter that adds a {@code Server-Timing} header to a sample of responses, breaking the request time
+ * down into database, pricing, hashing and serialization time (see {@link RequestTiming}).
+ * <p>
+ * The header has to be set after the body is serialized, so sampled responses are buffered and sent once the
+ * handler (including any async dispatch) has finished. Unsampled requests pass straight through, as do the
+ * diagnostics endpoints, whose recordings and dumps are too large to hold in memory.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 25)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timing";
+
+    @Value("${capstone.server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${capstone.server-timing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || sampleRate <= 0
+                || request.getRequestURI().contains(RESTNouns.ADMIN + RESTNouns.DIAGNOSTICS + "/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            if (isAsyncDispatch(request) || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            timing = new RequestTiming();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+
+        // On an async dispatch the response is already the wrapper created by the first dispatch
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        RequestTiming previous = RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.bind(previous);
+        }
+        if (!isAsyncStarted(request)) {
+            wrapper.setHeader(HEADER, timing.toHeaderValue());
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
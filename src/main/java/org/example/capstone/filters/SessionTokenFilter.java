@@ -0,0 +1,93 @@
+package org.example.capstone.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.capstone.controllers.RESTNouns;
+import org.example.capstone.services.SessionToken;
+import org.example.capstone.services.SessionTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that verifies the {@code Authorization: Bearer} session token issued at login.
+ * <p>
+ * A valid token is exposed to handlers as the {@link #SESSION_ATTRIBUTE} request attribute. A token that is
+ * present but forged or expired is answered with {@code 401 Unauthorized}. Requests without a token pass through
+ * unchanged, except that admin routes require an admin token when {@code capstone.session.enforce-admin} is set.
+ * Verification is a single HMAC and never touches the database.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the verified {@link SessionToken}.
+     */
+    public static final String SESSION_ATTRIBUTE = "org.example.capstone.filters.SessionTokenFilter.SESSION";
+
+    private static final String ADMIN_PREFIX = RESTNouns.VERSION_1 + RESTNouns.ADMIN;
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String INVALID_RESPONSE = "{\"success\":false,\"message\":\"Invalid or expired session.\"}";
+    private static final String FORBIDDEN_RESPONSE = "{\"success\":false,\"message\":\"Admin session required.\"}";
+
+    /** Decodes the path and strips {@code ;} parameters and duplicate slashes, as handler mapping does. */
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    @Autowired private SessionTokenService sessionTokenService;
+
+    @Value("${capstone.session.enforce-admin:false}")
+    private boolean enforceAdmin;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        SessionToken session = null;
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            session = sessionTokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+            if (session == null) {
+                reject(response, HttpStatus.UNAUTHORIZED, INVALID_RESPONSE);
+                return;
+            }
+            request.setAttribute(SESSION_ATTRIBUTE, session);
+        }
+        if (enforceAdmin && isAdminRoute(request) && (session == null || !session.isAdmin())) {
+            reject(response, session == null ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN,
+                    session == null ? INVALID_RESPONSE : FORBIDDEN_RESPONSE);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Matches on the same normalized path that handler mapping uses, so encoded characters or {@code ;}
+     * parameters (e.g. {@code /v1;x/admins} or {@code /v1/%61dmins}) cannot reach an admin route unchecked.
+     */
+    private boolean isAdminRoute(HttpServletRequest request) {
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        return path.equals(ADMIN_PREFIX) || path.startsWith(ADMIN_PREFIX + "/");
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(body);
+    }
+}
@@ -1,15 +1,22 @@
 package org.example.capstone.pojos;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 
 /**
  * Represents a physical address used for customers, homes, or policies.
  * Contains unit number, street, city, province, and postal code information.
  */
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_address_hash", columnNames = "address_hash"))
 public class Address {
 
     /**
@@ -44,6 +51,14 @@ public class Address {
      */
     private String postalCode;
 
+    /**
+     * SHA-256 of the normalized address components (see {@link #hashOf}).
+     * Backed by a unique index so duplicate detection is a single indexed probe.
+     */
+    @JsonIgnore
+    @Column(name = "address_hash", length = 64)
+    private String addressHash;
+
     /**
      * Gets the ID of the address.
      * @return The address ID.
@@ -147,4 +162,59 @@ public class Address {
     public void setPostalCode(String zip) {
         this.postalCode = zip;
     }
+
+    /**
+     * Gets the normalized address hash.
+     * @return The hex encoded SHA-256 of the normalized address.
+     */
+    public String getAddressHash() {
+        return addressHash;
+    }
+
+    /**
+     * Recomputes the address hash from the current components.
+     * Runs automatically before the address is inserted or updated.
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshAddressHash() {
+        this.addressHash = hashOf(unit, street, city, province, postalCode);
+    }
+
+    /**
+     * Builds the canonical hash for an address. Components are trimmed, inner whitespace is collapsed,
+     * and everything is upper-cased; postal codes additionally drop spaces/hyphens and are re-spaced
+     * into the Canadian "A1A 1A1" form when they have six characters.
+     * @param unit        The unit number.
+     * @param street      The street name.
+     * @param city        The city.
+     * @param province    The province.
+     * @param postalCode  The postal code.
+     * @return The hex encoded SHA-256 of the normalized components.
+     */
+    public static String hashOf(Integer unit, String street, String city, String province, String postalCode) {
+        String canonical = (unit == null ? "" : unit.toString()) + '|'
+                + normalize(street) + '|'
+                + normalize(city) + '|'
+                + normalize(province) + '|'
+                + normalizePostalCode(postalCode);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    private static String normalizePostalCode(String value) {
+        String compact = normalize(value).replaceAll("[\\s-]", "");
+        return compact.length() == 6 ? compact.substring(0, 3) + " " + compact.substring(3) : compact;
+    }
 }
@@ -1,12 +1,14 @@
 package org.example.capstone.pojos;
 
 import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
 
 /**
  * Represents an automobile entity associated with a user.
  * Each Auto record includes details such as make, model, year, and the owning user.
  */
 @Entity // This tells Hibernate to make a table out of this class
+@EntityListeners(ChangeTrackingListener.class)
 public class Auto {
 
     @Id
@@ -1,6 +1,7 @@
 package org.example.capstone.pojos;
 
 import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
 
 import java.time.LocalDate;
 
@@ -9,6 +10,11 @@ import java.time.LocalDate;
  * Contains policy details such as premium, effective and end dates, tax rate, and customer linkage.
  */
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
+@Table(indexes = {
+        @Index(name = "idx_auto_policy_cust_id", columnList = "cust_id"),
+        @Index(name = "idx_auto_policy_active_end_date", columnList = "active, end_date")
+})
 public class AutoPolicy {
 
     /**
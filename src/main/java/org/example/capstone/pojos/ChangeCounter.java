@@ -0,0 +1,41 @@
+package org.example.capstone.pojos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * A monotonically increasing change counter for one scope of data, used to derive ETags.
+ * <p>
+ * The scope {@code customer:<id>} is bumped whenever anything shown in that customer's list endpoints changes.
+ * The scope {@code global} is bumped by changes that can affect any customer, such as set-based
+ * maintenance jobs, and by edits to shared rows like addresses. Rows are only written with native upserts by
+ * {@link org.example.capstone.services.ChangeTracker}; the entity exists so the table is part of the schema.
+ */
+@Entity
+public class ChangeCounter {
+
+    /**
+     * The scope name, e.g. {@code customer:42} or {@code global}.
+     * */
+    @Id
+    @Column(length = 64)
+    private String scope;
+    private long version;
+
+    /**
+     * Gets the scope name.
+     * @return The scope.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * Gets the number of changes recorded for the scope.
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
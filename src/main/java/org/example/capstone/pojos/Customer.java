@@ -3,6 +3,7 @@ package org.example.capstone.pojos;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
 
 import java.time.LocalDate;
 
@@ -12,6 +13,8 @@ import java.time.LocalDate;
  * Contains basic personal and contact details including address and authentication credentials.
  */
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_customer_username", columnNames = "username"))
 public class Customer {
 
     @Id
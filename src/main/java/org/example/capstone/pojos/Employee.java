@@ -5,12 +5,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 /**
  * Represents an employee in the system.
  * Contains user credentials and a flag to identify administrator privileges.
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_employee_username", columnNames = "username"))
 public class Employee {
 
     /**
@@ -2,6 +2,7 @@ package org.example.capstone.pojos;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
 
 import java.time.LocalDate;
 
@@ -12,6 +13,7 @@ import java.time.LocalDate;
  * {@link Customer} and {@link Address} entities.
  */
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
 public class Home {
 
     /**
@@ -2,6 +2,7 @@ package org.example.capstone.pojos;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
 
 import java.time.LocalDate;
 
@@ -10,6 +11,11 @@ import java.time.LocalDate;
  * Contains information on premium, coverage period, liability, customer, and policy status.
  */
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
+@Table(indexes = {
+        @Index(name = "idx_home_policy_cust_id", columnList = "cust_id"),
+        @Index(name = "idx_home_policy_active_end_date", columnList = "active, end_date")
+})
 public class HomePolicy {
 
     /**
@@ -1,6 +1,8 @@
 package org.example.capstone.pojos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.example.capstone.services.ChangeTrackingListener;
 
 import java.time.LocalDate;
 
@@ -10,6 +12,11 @@ import java.time.LocalDate;
  * associated home, and the customer who received the quote.
  */
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
+@Table(indexes = {
+        @Index(name = "idx_home_quote_cust_id", columnList = "cust_id"),
+        @Index(name = "idx_home_quote_active_generation_date", columnList = "active, generation_date")
+})
 public class HomeQuote {
 
     /**
@@ -29,6 +36,14 @@ public class HomeQuote {
     private Home home;
     private int custId;
 
+    /**
+     * The applied pricing factors, encoded by {@link org.example.capstone.services.FactorBreakdown}.
+     * Null for quotes priced before breakdowns were recorded.
+     * */
+    @JsonIgnore //read through the explain endpoint instead
+    @Column(length = 128)
+    private String factorBreakdown;
+
     /**
      * Gets the ID of the quote.
      * @return The quote ID.
@@ -172,4 +187,20 @@ public class HomeQuote {
     public void setCustId(int custId) {
         this.custId = custId;
     }
+
+    /**
+     * Gets the encoded factor breakdown recorded when the quote was priced.
+     * @return The encoded breakdown, or null if none was recorded.
+     */
+    public String getFactorBreakdown() {
+        return factorBreakdown;
+    }
+
+    /**
+     * Sets the encoded factor breakdown.
+     * @param factorBreakdown The encoded breakdown to assign.
+     */
+    public void setFactorBreakdown(String factorBreakdown) {
+        this.factorBreakdown = factorBreakdown;
+    }
 }
@@ -0,0 +1,126 @@
+package org.example.capstone.pojos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only copy of a {@link HomeQuote} that was moved out of the live {@code home_quote} table
+ * by the quote archival job. Keeps the original quote ID and records when it was archived.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_home_quote_archive_cust_id", columnList = "cust_id"))
+public class HomeQuoteArchive {
+
+    /**
+     * ID the quote had in the live table.
+     * */
+    @Id
+    private int id;
+    private LocalDate generationDate;
+    private boolean active;
+    private double premium;
+    private double basePremium;
+    private int liabilityLimit;
+    private double taxRate;
+    @ManyToOne
+    @JoinColumn(name = "home_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @NotFound(action = NotFoundAction.IGNORE)
+    private Home home;
+    private int custId;
+    private LocalDate archivedDate;
+    @JsonIgnore
+    @Column(length = 128)
+    private String factorBreakdown;
+
+    /**
+     * Gets the ID of the archived quote.
+     * @return The quote ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the date the quote was generated.
+     * @return The generation date.
+     */
+    public LocalDate getGenerationDate() {
+        return generationDate;
+    }
+
+    /**
+     * Checks whether the quote was still active when archived.
+     * @return True if it was active; false otherwise.
+     */
+    public boolean getActive() {
+        return active;
+    }
+
+    /**
+     * Gets the premium of the quote.
+     * @return The premium amount.
+     */
+    public double getPremium() {
+        return premium;
+    }
+
+    /**
+     * Gets the base premium of the quote.
+     * @return The base premium.
+     */
+    public double getBasePremium() {
+        return basePremium;
+    }
+
+    /**
+     * Gets the liability limit of the quote.
+     * @return The liability limit.
+     */
+    public int getLiabilityLimit() {
+        return liabilityLimit;
+    }
+
+    /**
+     * Gets the tax rate applied to the quote.
+     * @return The tax rate.
+     */
+    public double getTaxRate() {
+        return taxRate;
+    }
+
+    /**
+     * Gets the quoted home, or null if it has since been deleted.
+     * @return The {@link Home} entity.
+     */
+    public Home getHome() {
+        return home;
+    }
+
+    /**
+     * Gets the ID of the customer the quote belongs to.
+     * @return The customer ID.
+     */
+    public int getCustId() {
+        return custId;
+    }
+
+    /**
+     * Gets the date the quote was moved into the archive.
+     * @return The archive date.
+     */
+    public LocalDate getArchivedDate() {
+        return archivedDate;
+    }
+
+    /**
+     * Gets the encoded factor breakdown recorded when the quote was priced.
+     * @return The encoded breakdown, or null if none was recorded.
+     */
+    public String getFactorBreakdown() {
+        return factorBreakdown;
+    }
+}
@@ -6,6 +6,12 @@ package org.example.capstone.pojos;
  */
 public class RiskFactors {
 
+    /**
+     * Configuration version, incremented every time the risk factors are updated.
+     * Used as the ETag of the risk factor endpoint.
+     * */
+    private long version;
+
     /**
      * Discount multiplier when both auto and home are insured.
      * */
@@ -471,6 +477,22 @@ public class RiskFactors {
         this.vehicleNew = vehicleNew;
     }
 
+    /**
+     * Gets the configuration version.
+     * @return the version, starting at zero for a new configuration.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the configuration version.
+     * @param version the version to set.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     /**
      * Loads default values for all risk factors and premiums used in premium calculations.
      * Should be used to initialize the system with standard values.
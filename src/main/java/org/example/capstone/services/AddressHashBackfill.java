@@ -0,0 +1,48 @@
+package org.example.capstone.services;
+
+import org.example.capstone.dataaccess.AddressRepository;
+import org.example.capstone.pojos.Address;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the normalized hash for addresses that were saved before the {@code address_hash} column existed,
+ * so they take part in duplicate detection.
+ * <p>
+ * Legacy rows that normalize to an address which is already hashed are left without a hash and reported,
+ * since the unique index only allows one row per normalized address.
+ */
+@Component
+public class AddressHashBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressHashBackfill.class);
+
+    @Autowired private AddressRepository addressRepository;
+
+    /**
+     * Hashes every address that does not have a hash yet. Runs once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAddressHashes() {
+        int hashed = 0;
+        int duplicates = 0;
+        for (Address address : addressRepository.findAllByAddressHashIsNull()) {
+            try {
+                address.refreshAddressHash();
+                addressRepository.save(address);
+                hashed++;
+            } catch (DataIntegrityViolationException e) {
+                duplicates++;
+                log.warn("Address with ID {} duplicates an existing address and was left unhashed.", address.getId());
+            }
+        }
+        if (hashed > 0 || duplicates > 0) {
+            log.info("Address hash backfill complete: {} hashed, {} duplicates skipped.", hashed, duplicates);
+        }
+    }
+}
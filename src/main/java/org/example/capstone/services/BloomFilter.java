@@ -0,0 +1,109 @@
+package org.example.capstone.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, thread-safe Bloom filter over strings.
+ * <p>
+ * {@link #mightContain(String)} never returns false for a value that was added, and returns true for a value
+ * that was not added with roughly the false-positive rate the filter was sized for. Bits live in an
+ * {@link AtomicLongArray}, so adds and lookups are lock-free. Bit positions use double hashing over a 64-bit
+ * FNV-1a hash of the UTF-8 bytes.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * Creates a filter sized for the given number of values and false-positive rate.
+     * @param expectedInsertions  The number of values the filter should hold.
+     * @param falsePositiveRate   The target false-positive rate, between 0 and 1.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adds a value.
+     * @param value The value to add.
+     */
+    public void put(String value) {
+        long hash1 = fnv1a(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Checks whether a value may have been added.
+     * @param value The value to check.
+     * @return False if the value was definitely never added, true if it probably was.
+     */
+    public boolean mightContain(String value) {
+        long hash1 = fnv1a(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes the filter's size and load for telemetry.
+     * @return The bit count, hash count, number of insertions and the fraction of bits set.
+     */
+    public Map<String, Object> snapshot() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("bits", bitCount);
+        snapshot.put("hashes", hashCount);
+        snapshot.put("insertions", insertions.sum());
+        snapshot.put("fillRatio", (double) set / bitCount);
+        return snapshot;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        // SplitMix64 finalizer; forced odd so the probe step is never zero
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return (hash ^ (hash >>> 31)) | 1;
+    }
+}
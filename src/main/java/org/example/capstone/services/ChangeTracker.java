@@ -0,0 +1,66 @@
+package org.example.capstone.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the {@code change_counter} table and derives ETags from it.
+ * <p>
+ * Counters are bumped with a single upsert on the caller's connection, so a bump commits or rolls back
+ * together with the change it records. A customer's ETag is the sum of its own counter and the global
+ * counter. Both only ever increase, so any change to either produces a new ETag. Reading it is one primary-key
+ * lookup and needs no entity to be loaded.
+ */
+@Service
+public class ChangeTracker {
+
+    /**
+     * Scope bumped by changes that may affect any customer.
+     */
+    public static final String GLOBAL_SCOPE = "global";
+
+    private static final String BUMP_SQL = "INSERT INTO change_counter (scope, version) VALUES (?, 1)"
+            + " ON DUPLICATE KEY UPDATE version = version + 1";
+    private static final String VERSION_SQL = "SELECT COALESCE(SUM(version), 0) FROM change_counter WHERE scope IN (?, ?)";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records a change to data owned by a customer.
+     * @param customerId The customer's ID.
+     */
+    public void customerChanged(long customerId) {
+        jdbcTemplate.update(BUMP_SQL, customerScope(customerId));
+    }
+
+    /**
+     * Records a change that may affect any customer.
+     */
+    public void globalChanged() {
+        jdbcTemplate.update(BUMP_SQL, GLOBAL_SCOPE);
+    }
+
+    /**
+     * Builds the ETag for a customer's data. It is weak because the same data is served as JSON, CBOR or Smile:
+     * the representations are equivalent but not byte-identical, and responses carry {@code Vary: Accept}.
+     * @param customerId The customer's ID.
+     * @return The weak ETag, e.g. {@code W/"c42-17"}.
+     */
+    public String customerEtag(long customerId) {
+        Long version = jdbcTemplate.queryForObject(VERSION_SQL, Long.class, customerScope(customerId), GLOBAL_SCOPE);
+        return weakEtag("c" + customerId + "-" + (version == null ? 0 : version));
+    }
+
+    /**
+     * @param value The ETag value, without quotes.
+     * @return The value as a weak ETag.
+     */
+    public static String weakEtag(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static String customerScope(long customerId) {
+        return "customer:" + customerId;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.capstone.services;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.capstone.pojos.Address;
+import org.example.capstone.pojos.Auto;
+import org.example.capstone.pojos.AutoPolicy;
+import org.example.capstone.pojos.AutoQuote;
+import org.example.capstone.pojos.Customer;
+import org.example.capstone.pojos.Home;
+import org.example.capstone.pojos.HomePolicy;
+import org.example.capstone.pojos.HomeQuote;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that bumps the change counters read by {@link ChangeTracker} whenever an entity shown in a
+ * customer's list endpoints is inserted, updated or deleted.
+ * <p>
+ * Quotes, policies and customers bump their customer's counter. Homes and autos bump it on insert and delete,
+ * but bump the global counter on update, since an update can move them to another customer and they are
+ * embedded in quotes and policies. Addresses are shared, so updating or deleting one bumps the global counter;
+ * inserting one bumps nothing, since a new address only shows up once the customer or home referencing it is
+ * saved, and that bumps the owner's counter. The bump runs during flush, on the same connection and in the same
+ * transaction as the change.
+ */
+public class ChangeTrackingListener {
+
+    @Autowired private ChangeTracker changeTracker;
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        if (!(entity instanceof Address)) {
+            onInsertOrDelete(entity);
+        }
+    }
+
+    @PostRemove
+    public void onDelete(Object entity) {
+        onInsertOrDelete(entity);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Home || entity instanceof Auto) {
+            changeTracker.globalChanged();
+        } else {
+            onChange(entity);
+        }
+    }
+
+    private void onInsertOrDelete(Object entity) {
+        if (entity instanceof Home home) {
+            customerChanged(home.getCustomer());
+        } else if (entity instanceof Auto auto) {
+            customerChanged(auto.getCustomer());
+        } else {
+            onChange(entity);
+        }
+    }
+
+    private void onChange(Object entity) {
+        if (entity instanceof Customer customer) {
+            customerChanged(customer);
+        } else if (entity instanceof HomeQuote quote) {
+            changeTracker.customerChanged(quote.getCustId());
+        } else if (entity instanceof AutoQuote quote) {
+            changeTracker.customerChanged(quote.getCustId());
+        } else if (entity instanceof HomePolicy policy) {
+            changeTracker.customerChanged(policy.getCustId());
+        } else if (entity instanceof AutoPolicy policy) {
+            changeTracker.customerChanged(policy.getCustId());
+        } else if (entity instanceof Address) {
+            changeTracker.globalChanged();
+        }
+    }
+
+    private void customerChanged(Customer customer) {
+        if (customer != null && customer.getId() != null) {
+            changeTracker.customerChanged(customer.getId());
+        } else {
+            changeTracker.globalChanged();
+        }
+    }
+}
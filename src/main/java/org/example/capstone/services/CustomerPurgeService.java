@@ -0,0 +1,140 @@
+package org.example.capstone.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes a customer together with everything that belongs to them: policies, quotes (live and archived),
+ * accidents, homes and autos. Quotes and policies only hold the customer ID as a plain column, so they are
+ * matched both by {@code cust_id} and through the customer's homes and autos.
+ * <p>
+ * Each table is cleared with set-based {@code DELETE}s, in foreign key order, without loading any entities.
+ * The customer's home and auto IDs are read first and bound as lists, so every statement matches a single
+ * indexed column ({@code cust_id}, {@code customer_id}, {@code home_id} or {@code auto_id}) and never scans
+ * or locks a whole table. {@link #purgeCustomer} does this in a single transaction; {@link #purgeCustomerInBackground} first drains
+ * each table in small ID-ordered chunks (one short transaction per chunk) so customers with very large
+ * histories never hold long locks, then finishes with the single-transaction purge.
+ */
+@Service
+public class CustomerPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerPurgeService.class);
+
+    /**
+     * One delete over a table owned by a customer.
+     * @param table     The table.
+     * @param predicate Selects the rows through one indexed column.
+     * @param idList    The list parameter the predicate binds, or null; the step is skipped while that list is empty.
+     */
+    private record PurgeStep(String table, String predicate, String idList) {
+    }
+
+    private static final String HOME_IDS = "homeIds";
+    private static final String AUTO_IDS = "autoIds";
+
+    /**
+     * Deletes owned by a customer, in the order they must run.
+     */
+    private static final List<PurgeStep> PURGE_STEPS = List.of(
+            new PurgeStep("home_policy", "cust_id = :customerId", null),
+            new PurgeStep("home_policy", "home_id IN (:homeIds)", HOME_IDS),
+            new PurgeStep("auto_policy", "cust_id = :customerId", null),
+            new PurgeStep("auto_policy", "auto_id IN (:autoIds)", AUTO_IDS),
+            new PurgeStep("home_quote", "cust_id = :customerId", null),
+            new PurgeStep("home_quote", "home_id IN (:homeIds)", HOME_IDS),
+            new PurgeStep("auto_quote", "cust_id = :customerId", null),
+            new PurgeStep("auto_quote", "auto_id IN (:autoIds)", AUTO_IDS),
+            new PurgeStep("home_quote_archive", "cust_id = :customerId", null),
+            new PurgeStep("auto_quote_archive", "cust_id = :customerId", null),
+            new PurgeStep("accident", "cust_id = :customerId", null),
+            new PurgeStep("home", "customer_id = :customerId", null),
+            new PurgeStep("auto", "customer_id = :customerId", null)
+    );
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ChangeTracker changeTracker;
+
+    @Value("${capstone.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Deletes the customer and all dependent rows in one transaction.
+     * @param customerId The ID of the customer to delete.
+     * @return The total number of rows deleted, including the customer row.
+     */
+    @Transactional
+    public int purgeCustomer(Long customerId) {
+        Map<String, Object> params = purgeParameters(customerId);
+        int deleted = 0;
+        for (PurgeStep step : PURGE_STEPS) {
+            if (applies(step, params)) {
+                deleted += jdbcTemplate.update("DELETE FROM " + step.table() + " WHERE " + step.predicate(), params);
+            }
+        }
+        deleted += jdbcTemplate.update("DELETE FROM customer WHERE id = :customerId", params);
+        changeTracker.customerChanged(customerId);
+        return deleted;
+    }
+
+    /**
+     * Deletes the customer and all dependent rows on a background thread, in bounded chunks.
+     * @param customerId The ID of the customer to delete.
+     */
+    @Async
+    public void purgeCustomerInBackground(Long customerId) {
+        long deleted = 0;
+        Map<String, Object> params = purgeParameters(customerId);
+        for (PurgeStep step : PURGE_STEPS) {
+            if (!applies(step, params)) {
+                continue;
+            }
+            // Plain read: the delete by primary key only locks the chunk's rows, and rows added meanwhile are
+            // picked up by the final purge
+            String select = "SELECT id FROM " + step.table() + " WHERE id > :afterId AND " + step.predicate()
+                    + " ORDER BY id LIMIT :limit";
+            String delete = "DELETE FROM " + step.table() + " WHERE id IN (:ids)";
+            deleted += KeysetChunks.forEachChunk(transactionTemplate,
+                    afterId -> {
+                        Map<String, Object> chunkParams = new HashMap<>(params);
+                        chunkParams.put("afterId", afterId);
+                        chunkParams.put("limit", chunkSize);
+                        return jdbcTemplate.queryForList(select, chunkParams, Integer.class);
+                    },
+                    ids -> jdbcTemplate.update(delete, Map.of("ids", ids)));
+        }
+        // Picks up anything added while the chunks were running and removes the customer row itself
+        deleted += transactionTemplate.execute(status -> purgeCustomer(customerId));
+        log.info("Background purge of customer {} complete: {} rows deleted.", customerId, deleted);
+    }
+
+    /**
+     * Reads the customer's home and auto IDs, so quotes and policies can be matched by their indexed foreign keys.
+     * @param customerId The ID of the customer being purged.
+     * @return The named parameters for the purge steps.
+     */
+    private Map<String, Object> purgeParameters(Long customerId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("customerId", customerId);
+        params.put(HOME_IDS, jdbcTemplate.queryForList("SELECT id FROM home WHERE customer_id = :customerId",
+                Map.of("customerId", customerId), Integer.class));
+        params.put(AUTO_IDS, jdbcTemplate.queryForList("SELECT id FROM auto WHERE customer_id = :customerId",
+                Map.of("customerId", customerId), Integer.class));
+        return params;
+    }
+
+    private static boolean applies(PurgeStep step, Map<String, Object> params) {
+        return step.idList() == null || !((List<?>) params.get(step.idList())).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.capstone.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashes new passwords with the configured primary hasher and verifies stored hashes with whichever hasher
+ * recognises their format. A stored hash needs rehashing if it is in another format or was written with
+ * weaker settings than the primary hasher's current ones.
+ */
+public class DelegatingPasswordHasher implements PasswordHasher {
+
+    private final PasswordHasher primary;
+    private final List<PasswordHasher> hashers;
+
+    /**
+     * Creates the hasher.
+     * @param primary The hasher used for new hashes.
+     * @param others  Hashers for older formats that must still verify.
+     */
+    public DelegatingPasswordHasher(PasswordHasher primary, PasswordHasher... others) {
+        List<PasswordHasher> all = new ArrayList<>();
+        all.add(primary);
+        all.addAll(List.of(others));
+        this.primary = primary;
+        this.hashers = List.copyOf(all);
+    }
+
+    @Override
+    public String hash(String password) {
+        return primary.hash(password);
+    }
+
+    @Override
+    public boolean verify(String password, String encoded) {
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.handles(encoded)) {
+                return hasher.verify(password, encoded);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean handles(String encoded) {
+        return hashers.stream().anyMatch(hasher -> hasher.handles(encoded));
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        return !primary.handles(encoded) || primary.needsRehash(encoded);
+    }
+
+    /**
+     * Gets the hasher used for new hashes.
+     * @return The primary hasher.
+     */
+    public PasswordHasher getPrimary() {
+        return primary;
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.capstone.services;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The factors applied while pricing a quote, recorded as they are applied and stored with the quote so the premium
+ * can be explained later without re-pricing it.
+ * <p>
+ * Each entry stores the factor, the bucket that was chosen (e.g. {@code old} for home age) and the value taken from
+ * the {@code RiskFactors} in force, together with that configuration's version. Because the values themselves are
+ * stored, an explanation stays correct after the risk factors are changed.
+ * <p>
+ * The encoding is a URL-safe Base64 string of: a format byte, the risk factor version (8 bytes), an entry count,
+ * then per entry a factor byte, a bucket byte and the value (8 bytes). A home quote encodes to under 100 characters.
+ * Factors and buckets are stored by position, so new ones must only ever be added at the end.
+ */
+public final class FactorBreakdown {
+
+    /**
+     * The pricing factors and their buckets. Append only: the positions are part of the stored encoding.
+     */
+    public enum Factor {
+        LIABILITY("low", "high"),
+        HOME_AGE("new", "mid", "old"),
+        HEATING("oil", "wood", "electric", "gas", "other"),
+        LOCATION("urban", "rural"),
+        /** Not a multiplier: the amount added to the base premium for homes above the value baseline. */
+        HOME_VALUE_SURCHARGE("applied"),
+        DRIVER_AGE("young", "old"),
+        ACCIDENTS("none", "few", "many"),
+        VEHICLE_AGE("new", "mid", "old"),
+        BUNDLE("applied");
+
+        private final String[] buckets;
+
+        Factor(String... buckets) {
+            this.buckets = buckets;
+        }
+
+        private int bucketIndex(String bucket) {
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i].equals(bucket)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown bucket '" + bucket + "' for factor " + this);
+        }
+    }
+
+    /**
+     * One applied factor.
+     * @param factor The factor.
+     * @param bucket The chosen bucket.
+     * @param value  The multiplier, or the amount for {@link Factor#HOME_VALUE_SURCHARGE}.
+     */
+    public record Entry(Factor factor, String bucket, double value) {
+    }
+
+    private static final byte FORMAT = 1;
+    private static final int HEADER_BYTES = 1 + Long.BYTES + 1;
+    private static final int ENTRY_BYTES = 2 + Double.BYTES;
+
+    private final long riskFactorVersion;
+    private final List<Entry> entries;
+
+    /**
+     * Starts an empty breakdown for a quote priced with the given risk factor configuration.
+     * @param riskFactorVersion The version of the risk factors used for pricing.
+     */
+    public FactorBreakdown(long riskFactorVersion) {
+        this(riskFactorVersion, new ArrayList<>(6));
+    }
+
+    private FactorBreakdown(long riskFactorVersion, List<Entry> entries) {
+        this.riskFactorVersion = riskFactorVersion;
+        this.entries = entries;
+    }
+
+    /**
+     * Records a multiplier and returns it, so it can be applied inline: {@code factor *= breakdown.apply(...)}.
+     * @param factor The factor.
+     * @param bucket The chosen bucket, which must be one of the factor's buckets.
+     * @param value  The multiplier.
+     * @return The multiplier.
+     */
+    public double apply(Factor factor, String bucket, double value) {
+        factor.bucketIndex(bucket);
+        entries.add(new Entry(factor, bucket, value));
+        return value;
+    }
+
+    /**
+     * Records the home value surcharge, if there is one, and returns it.
+     * @param amount The amount added to the base premium; zero is not recorded.
+     * @return The amount.
+     */
+    public double surcharge(double amount) {
+        if (amount != 0) {
+            entries.add(new Entry(Factor.HOME_VALUE_SURCHARGE, "applied", amount));
+        }
+        return amount;
+    }
+
+    public long getRiskFactorVersion() {
+        return riskFactorVersion;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return The product of all multipliers (the surcharge is not a multiplier and is left out).
+     */
+    public double getMultiplier() {
+        double multiplier = 1;
+        for (Entry entry : entries) {
+            if (entry.factor() != Factor.HOME_VALUE_SURCHARGE) {
+                multiplier *= entry.value();
+            }
+        }
+        return multiplier;
+    }
+
+    /**
+     * @return The home value surcharge, or zero if none was applied.
+     */
+    public double getSurcharge() {
+        for (Entry entry : entries) {
+            if (entry.factor() == Factor.HOME_VALUE_SURCHARGE) {
+                return entry.value();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Describes the applied factors for the explain endpoints, in the order they were applied.
+     * @return One map per factor with its name, bucket and value.
+     */
+    public List<Map<String, Object>> describe() {
+        List<Map<String, Object>> factors = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("factor", entry.factor().name().toLowerCase(Locale.ROOT));
+            description.put("bucket", entry.bucket());
+            description.put(entry.factor() == Factor.HOME_VALUE_SURCHARGE ? "amount" : "multiplier", entry.value());
+            factors.add(description);
+        }
+        return factors;
+    }
+
+    /**
+     * Lays out the calculation of a premium from this breakdown and the quote's stored columns:
+     * {@code (basePremium + surcharge) * multiplier * (1 + taxRate)}, rounded to cents, gives the premium.
+     * @param basePremium The quote's base premium.
+     * @param taxRate     The quote's tax rate.
+     * @param premium     The premium charged.
+     * @return The explanation, with the factors in the order they were applied.
+     */
+    public Map<String, Object> explain(double basePremium, double taxRate, double premium) {
+        Map<String, Object> explanation = new LinkedHashMap<>();
+        explanation.put("riskFactorVersion", riskFactorVersion);
+        explanation.put("basePremium", basePremium);
+        explanation.put("surcharge", getSurcharge());
+        explanation.put("factors", describe());
+        explanation.put("multiplier", getMultiplier());
+        explanation.put("taxRate", taxRate);
+        explanation.put("premium", premium);
+        return explanation;
+    }
+
+    /**
+     * @return The compact encoding stored on the quote.
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entries.size() * ENTRY_BYTES);
+        buffer.put(FORMAT).putLong(riskFactorVersion).put((byte) entries.size());
+        for (Entry entry : entries) {
+            buffer.put((byte) entry.factor().ordinal())
+                    .put((byte) entry.factor().bucketIndex(entry.bucket()))
+                    .putDouble(entry.value());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Reads a stored breakdown.
+     * @param encoded The value produced by {@link #encode()}.
+     * @return The breakdown.
+     * @throws IllegalArgumentException If the value is not a breakdown in a known format.
+     */
+    public static FactorBreakdown decode(String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(encoded));
+        if (buffer.remaining() < HEADER_BYTES || buffer.get() != FORMAT) {
+            throw new IllegalArgumentException("Unknown factor breakdown format");
+        }
+        long version = buffer.getLong();
+        int count = Byte.toUnsignedInt(buffer.get());
+        if (buffer.remaining() != count * ENTRY_BYTES) {
+            throw new IllegalArgumentException("Truncated factor breakdown");
+        }
+        Factor[] factors = Factor.values();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int factorIndex = Byte.toUnsignedInt(buffer.get());
+            int bucketIndex = Byte.toUnsignedInt(buffer.get());
+            double value = buffer.getDouble();
+            if (factorIndex >= factors.length || bucketIndex >= factors[factorIndex].buckets.length) {
+                throw new IllegalArgumentException("Unknown factor in breakdown");
+            }
+            Factor factor = factors[factorIndex];
+            entries.add(new Entry(factor, factor.buckets[bucketIndex], value));
+        }
+        return new FactorBreakdown(version, entries);
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.capstone.services;
+
+/**
+ * Thrown when a password hashing or verification task cannot be queued because the hashing executor
+ * is saturated. Mapped to {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class HashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     */
+    public HashingRejectedException() {
+        super("Password hashing capacity exceeded.");
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.capstone.services;
+
+import org.example.capstone.telemetry.PasswordHashEvent;
+import org.jasypt.util.password.StrongPasswordEncryptor;
+
+/**
+ * The original password format: Jasypt's {@link StrongPasswordEncryptor}, a salted SHA-256 digest repeated
+ * 100,000 times and stored as plain Base64. Its cost is fixed, and its hashes carry no prefix, so this hasher
+ * claims every hash that does not start with {@code $}.
+ */
+public class JasyptPasswordHasher implements PasswordHasher {
+
+    /** The iteration count StrongPasswordEncryptor always uses. */
+    private static final int ITERATIONS = 100_000;
+
+    private final StrongPasswordEncryptor encryptor;
+
+    /**
+     * Creates the hasher.
+     * @param encryptor The Jasypt encryptor to delegate to.
+     */
+    public JasyptPasswordHasher(StrongPasswordEncryptor encryptor) {
+        this.encryptor = encryptor;
+    }
+
+    @Override
+    public String hash(String password) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return encryptor.encryptPassword(password);
+        } finally {
+            commit(event, "hash");
+        }
+    }
+
+    @Override
+    public boolean verify(String password, String encoded) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return encryptor.checkPassword(password, encoded);
+        } finally {
+            commit(event, "verify");
+        }
+    }
+
+    @Override
+    public boolean handles(String encoded) {
+        return encoded != null && !encoded.startsWith("$");
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        return false;
+    }
+
+    private static void commit(PasswordHashEvent event, String operation) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = "jasypt";
+            event.operation = operation;
+            event.iterations = ITERATIONS;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.capstone.services;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.example.capstone.pojos.RiskFactors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the JSON serializers for every entity at startup, so their introspection (and Blackbird's accessor
+ * generation) happens once here rather than inside the first requests that return each type.
+ */
+@Component
+public class JsonSerializerWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonSerializerWarmup.class);
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Builds and caches the serializer for each mapped entity class and for the risk factors.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolveSerializers() {
+        long start = System.nanoTime();
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        int resolved = 0;
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            resolved += resolve(provider, entity.getJavaType());
+        }
+        resolved += resolve(provider, RiskFactors.class);
+        log.info("Resolved JSON serializers for {} types in {} ms.", resolved, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static int resolve(SerializerProvider provider, Class<?> type) {
+        try {
+            provider.findValueSerializer(type);
+            return 1;
+        } catch (JsonMappingException e) {
+            log.warn("Could not resolve a JSON serializer for {}", type.getName(), e);
+            return 0;
+        }
+    }
+}
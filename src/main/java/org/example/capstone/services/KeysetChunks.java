@@ -0,0 +1,50 @@
+package org.example.capstone.services;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Helper for running set-based maintenance statements over a table in small, ID-ordered chunks.
+ * <p>
+ * Each chunk runs in its own transaction: the next batch of IDs after the current keyset position is
+ * selected, then processed with set-based statements. The selection is a plain read, so the processing
+ * statements must re-check whatever made a row eligible. Only the rows of one chunk are ever locked at a
+ * time, and the keyset position means rows are never re-scanned.
+ */
+public final class KeysetChunks {
+
+    private KeysetChunks() {
+    }
+
+    /**
+     * Processes every matching row chunk by chunk until the selector returns no more IDs.
+     * @param transactionTemplate The template used to open one transaction per chunk.
+     * @param nextChunk           Selects the IDs of the next chunk after the given ID, in ascending order.
+     * @param processChunk        Applies the set-based change to a chunk and returns the number of rows changed.
+     * @return The total number of rows changed across all chunks.
+     */
+    public static long forEachChunk(TransactionTemplate transactionTemplate,
+                                    IntFunction<List<Integer>> nextChunk,
+                                    ToIntFunction<List<Integer>> processChunk) {
+        long changed = 0;
+        int afterId = 0;
+        while (true) {
+            final int position = afterId;
+            int[] result = transactionTemplate.execute(status -> {
+                List<Integer> ids = nextChunk.apply(position);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                return new int[]{ids.get(ids.size() - 1), processChunk.applyAsInt(ids)};
+            });
+            if (result == null) {
+                return changed;
+            }
+            afterId = result[0];
+            changed += result[1];
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.example.capstone.services;
+
+import org.example.capstone.dataaccess.CustomerRepository;
+import org.example.capstone.dataaccess.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters of known customer usernames, employee usernames and customer emails, used to answer
+ * definite misses (registration of a new username, logins with unknown usernames) without a database query.
+ * <p>
+ * The filters are populated at startup by a streaming scan and rebuilt periodically, which also drops stale
+ * entries for renamed or deleted accounts. Registrations and renames add to the live filter straight away.
+ * Until the first scan completes every lookup reports a possible hit, so callers always fall back to the
+ * database. Values are normalized the way MariaDB's case- and accent-insensitive collation compares them,
+ * so a lookup can only err towards a false positive.
+ * <p>
+ * Each instance only sees its own registrations between rebuilds, so the filter is never used to decide that a
+ * username is free: registration always checks the database, backed by unique constraints on the username
+ * columns. With several instances, an account registered on one of them is reported missing by the others (its
+ * logins fail there) until their next rebuild, so multi-instance deployments should shorten
+ * {@code capstone.identity-filter.rebuild-interval-ms} or disable the filter.
+ */
+@Component
+public class KnownIdentityFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownIdentityFilter.class);
+
+    /**
+     * The sets of values tracked by the filter.
+     */
+    private enum Kind {
+        CUSTOMER_USERNAME,
+        EMPLOYEE_USERNAME,
+        CUSTOMER_EMAIL
+    }
+
+    private record Addition(Kind kind, String key) {
+    }
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    @Value("${capstone.identity-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${capstone.identity-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${capstone.identity-filter.min-expected-insertions:100000}")
+    private long minExpectedInsertions;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Addition, Long> recentAdditions = new ConcurrentHashMap<>();
+    private final LongAdder skippedQueries = new LongAdder();
+    private volatile Map<Kind, BloomFilter> filters;
+    private volatile Instant lastRebuild;
+
+    /**
+     * Creates the filter.
+     * @param transactionManager Used to run the populating scan in a read-only transaction.
+     */
+    public KnownIdentityFilter(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks whether a customer with the given username may exist.
+     * @param username The username to check.
+     * @return False if no customer has the username, true if one probably does.
+     */
+    public boolean mightContainCustomerUsername(String username) {
+        return mightContain(Kind.CUSTOMER_USERNAME, username);
+    }
+
+    /**
+     * Checks whether an employee with the given username may exist.
+     * @param username The username to check.
+     * @return False if no employee has the username, true if one probably does.
+     */
+    public boolean mightContainEmployeeUsername(String username) {
+        return mightContain(Kind.EMPLOYEE_USERNAME, username);
+    }
+
+    /**
+     * Checks whether a customer with the given email may exist.
+     * @param email The email to check.
+     * @return False if no customer has the email, true if one probably does.
+     */
+    public boolean mightContainCustomerEmail(String email) {
+        return mightContain(Kind.CUSTOMER_EMAIL, email);
+    }
+
+    /**
+     * Records a customer username. Call before the customer is saved.
+     * @param username The username being registered.
+     */
+    public void addCustomerUsername(String username) {
+        add(Kind.CUSTOMER_USERNAME, username);
+    }
+
+    /**
+     * Records an employee username. Call before the employee is saved.
+     * @param username The username being registered.
+     */
+    public void addEmployeeUsername(String username) {
+        add(Kind.EMPLOYEE_USERNAME, username);
+    }
+
+    /**
+     * Records a customer email. Call before the customer is saved.
+     * @param email The email being registered.
+     */
+    public void addCustomerEmail(String email) {
+        add(Kind.CUSTOMER_EMAIL, email);
+    }
+
+    /**
+     * Builds the filters once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void populate() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filters from the database on the {@code capstone.identity-filter.rebuild-interval-ms} schedule,
+     * resizing them for the current row counts.
+     */
+    @Scheduled(initialDelayString = "${capstone.identity-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${capstone.identity-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long customers = customerRepository.count();
+        long employees = employeeRepository.count();
+        Map<Kind, BloomFilter> rebuilt = new EnumMap<>(Kind.class);
+        rebuilt.put(Kind.CUSTOMER_USERNAME, newFilter(customers));
+        rebuilt.put(Kind.CUSTOMER_EMAIL, newFilter(customers));
+        rebuilt.put(Kind.EMPLOYEE_USERNAME, newFilter(employees));
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = customerRepository.streamAllUsernamesAndEmails()) {
+                rows.forEach(row -> {
+                    put(rebuilt, Kind.CUSTOMER_USERNAME, (String) row[0]);
+                    put(rebuilt, Kind.CUSTOMER_EMAIL, (String) row[1]);
+                });
+            }
+            try (Stream<String> usernames = employeeRepository.streamAllUsernames()) {
+                usernames.forEach(username -> put(rebuilt, Kind.EMPLOYEE_USERNAME, username));
+            }
+        });
+
+        // Registrations racing the scan may not be visible to it. Replay them before and after publishing the
+        // new filters: an addition made after the second replay starts is guaranteed to see the new filters.
+        replayRecentAdditions(rebuilt);
+        filters = rebuilt;
+        replayRecentAdditions(rebuilt);
+        recentAdditions.values().removeIf(addedAt -> addedAt < started);
+        lastRebuild = Instant.now();
+        log.info("Identity filter rebuilt from {} customers and {} employees in {} ms.",
+                customers, employees, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Describes the filters for telemetry.
+     * @return Readiness, the number of database queries avoided and the size and load of each filter.
+     */
+    public Map<String, Object> snapshot() {
+        Map<Kind, BloomFilter> current = filters;
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("ready", current != null);
+        snapshot.put("lastRebuild", lastRebuild);
+        snapshot.put("skippedQueries", skippedQueries.sum());
+        if (current != null) {
+            snapshot.put("customerUsernames", current.get(Kind.CUSTOMER_USERNAME).snapshot());
+            snapshot.put("customerEmails", current.get(Kind.CUSTOMER_EMAIL).snapshot());
+            snapshot.put("employeeUsernames", current.get(Kind.EMPLOYEE_USERNAME).snapshot());
+        }
+        return snapshot;
+    }
+
+    private boolean mightContain(Kind kind, String value) {
+        Map<Kind, BloomFilter> current = filters;
+        if (current == null || value == null) {
+            return true;
+        }
+        boolean possible = current.get(kind).mightContain(normalize(value));
+        if (!possible) {
+            skippedQueries.increment();
+        }
+        return possible;
+    }
+
+    private void add(Kind kind, String value) {
+        if (value == null) {
+            return;
+        }
+        String key = normalize(value);
+        recentAdditions.put(new Addition(kind, key), System.nanoTime());
+        Map<Kind, BloomFilter> current = filters;
+        if (current != null) {
+            current.get(kind).put(key);
+        }
+    }
+
+    private void replayRecentAdditions(Map<Kind, BloomFilter> target) {
+        recentAdditions.keySet().forEach(addition -> target.get(addition.kind()).put(addition.key()));
+    }
+
+    private BloomFilter newFilter(long rows) {
+        return new BloomFilter(Math.max(minExpectedInsertions, rows * 2), falsePositiveRate);
+    }
+
+    private static void put(Map<Kind, BloomFilter> target, Kind kind, String value) {
+        if (value != null) {
+            target.get(kind).put(normalize(value));
+        }
+    }
+
+    private static String normalize(String value) {
+        // Match the database collation, which ignores case, accents and trailing spaces
+        String stripped = Normalizer.normalize(value.strip(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.capstone.services;
+
+/**
+ * Hashes and verifies passwords in one storage format.
+ * <p>
+ * Implementations must be thread-safe. Each stored hash identifies its own format (and, where the format allows,
+ * its cost), so hashes written with different algorithms or settings can live side by side in the database.
+ */
+public interface PasswordHasher {
+
+    /**
+     * Hashes a plain-text password with a fresh salt.
+     * @param password The plain-text password.
+     * @return The encoded hash, ready to store.
+     */
+    String hash(String password);
+
+    /**
+     * Verifies a plain-text password against a stored hash.
+     * @param password The plain-text password.
+     * @param encoded  The stored hash, which must be in a format this hasher {@link #handles(String) handles}.
+     * @return True if the password matches.
+     */
+    boolean verify(String password, String encoded);
+
+    /**
+     * Checks whether a stored hash is in this hasher's format.
+     * @param encoded The stored hash.
+     * @return True if this hasher can verify the hash.
+     */
+    boolean handles(String encoded);
+
+    /**
+     * Checks whether a stored hash in this hasher's format was written with weaker settings than the current ones.
+     * @param encoded The stored hash.
+     * @return True if the password should be hashed again on the next successful login.
+     */
+    boolean needsRehash(String encoded);
+}
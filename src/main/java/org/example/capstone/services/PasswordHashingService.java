@@ -0,0 +1,136 @@
+package org.example.capstone.services;
+
+import jakarta.annotation.PreDestroy;
+import org.example.capstone.telemetry.LatencyHistogram;
+import org.example.capstone.telemetry.RequestTiming;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated, CPU-sized thread pool instead of on Tomcat
+ * request threads.
+ * <p>
+ * Each {@link PasswordHasher} call costs 100,000 or more hash iterations, so a burst of logins used to pin
+ * every request thread. The pool here has one thread per core and a bounded queue; once the queue is full new
+ * work is rejected immediately with {@link HashingRejectedException}, so a hash flood only degrades the
+ * authentication endpoints. Results are returned as {@link CompletableFuture}s, which lets the controller release
+ * the request thread while the hash runs.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired private PasswordHasher passwordHasher;
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final LatencyHistogram hashTime = new LatencyHistogram();
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates the hashing pool.
+     * @param threads       Number of hashing threads; zero or less means one per available core.
+     * @param queueCapacity Maximum number of hashing tasks waiting for a thread.
+     */
+    public PasswordHashingService(@Value("${capstone.hashing.threads:0}") int threads,
+                                  @Value("${capstone.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Hashes a plain-text password.
+     * @param password The plain-text password.
+     * @return A future completing with the encrypted password, or failing with {@link HashingRejectedException}.
+     */
+    public CompletableFuture<String> encryptPassword(String password) {
+        return submit(() -> passwordHasher.hash(password));
+    }
+
+    /**
+     * Verifies a plain-text password against a stored hash.
+     * @param password          The plain-text password.
+     * @param encryptedPassword The stored hash.
+     * @return A future completing with true if the password matches, or failing with {@link HashingRejectedException}.
+     */
+    public CompletableFuture<Boolean> checkPassword(String password, String encryptedPassword) {
+        return submit(() -> passwordHasher.verify(password, encryptedPassword));
+    }
+
+    /**
+     * Builds the hashing section of the telemetry report.
+     * @return Pool gauges, rejection count and hash/queue time histograms.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("threads", executor.getMaximumPoolSize());
+        snapshot.put("active", executor.getActiveCount());
+        snapshot.put("queued", executor.getQueue().size());
+        snapshot.put("queueCapacity", queueCapacity);
+        snapshot.put("completed", executor.getCompletedTaskCount());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("hashTime", hashTime.snapshot());
+        snapshot.put("queueTime", queueTime.snapshot());
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of hashing tasks waiting for a thread.
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops the hashing threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        RequestTiming timing = RequestTiming.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                queueTime.record(started - submitted);
+                try {
+                    return task.get();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    hashTime.record(elapsed);
+                    if (timing != null) {
+                        timing.recordHash(elapsed);
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new HashingRejectedException());
+        }
+    }
+}
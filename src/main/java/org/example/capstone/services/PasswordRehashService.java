@@ -0,0 +1,94 @@
+package org.example.capstone.services;
+
+import org.example.capstone.dataaccess.CustomerRepository;
+import org.example.capstone.dataaccess.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Upgrades password hashes written with an outdated algorithm or cost, using the plain-text password from a
+ * successful login.
+ * <p>
+ * The new hash is computed on the password hashing pool after the login response has been sent, and stored
+ * with a compare-and-set update so a password changed in the meantime is never overwritten. Upgrades are
+ * opportunistic: they are skipped while logins are queued for the hashing pool, and retried on a later login.
+ */
+@Service
+public class PasswordRehashService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordRehashService.class);
+
+    @Autowired private PasswordHasher passwordHasher;
+    @Autowired private PasswordHashingService passwordHashingService;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired @Qualifier("applicationTaskExecutor") private Executor taskExecutor;
+
+    private final LongAdder upgraded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Rehashes a customer's password in the background if the stored hash is outdated.
+     * @param customerId The customer's ID.
+     * @param password   The plain-text password that was just verified.
+     * @param storedHash The hash it was verified against.
+     */
+    public void rehashCustomerIfOutdated(Integer customerId, String password, String storedHash) {
+        rehashIfOutdated(password, storedHash,
+                newHash -> customerRepository.updatePasswordIfUnchanged(customerId, storedHash, newHash));
+    }
+
+    /**
+     * Rehashes an employee's password in the background if the stored hash is outdated.
+     * @param employeeId The employee's ID.
+     * @param password   The plain-text password that was just verified.
+     * @param storedHash The hash it was verified against.
+     */
+    public void rehashEmployeeIfOutdated(Integer employeeId, String password, String storedHash) {
+        rehashIfOutdated(password, storedHash,
+                newHash -> employeeRepository.updatePasswordIfUnchanged(employeeId, storedHash, newHash));
+    }
+
+    /**
+     * Describes upgrade activity for telemetry.
+     * @return The number of hashes upgraded and the number of upgrades skipped or lost.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("upgraded", upgraded.sum());
+        snapshot.put("skipped", skipped.sum());
+        return snapshot;
+    }
+
+    private void rehashIfOutdated(String password, String storedHash, ToIntFunction<String> update) {
+        if (!passwordHasher.needsRehash(storedHash)) {
+            return;
+        }
+        if (passwordHashingService.getQueueDepth() > 0) {
+            skipped.increment();
+            return;
+        }
+        passwordHashingService.encryptPassword(password)
+                .thenAcceptAsync(newHash -> {
+                    if (update.applyAsInt(newHash) > 0) {
+                        upgraded.increment();
+                    } else {
+                        skipped.increment();
+                    }
+                }, taskExecutor)
+                .exceptionally(e -> {
+                    skipped.increment();
+                    log.debug("Password rehash skipped: {}", e.getMessage());
+                    return null;
+                });
+    }
+}
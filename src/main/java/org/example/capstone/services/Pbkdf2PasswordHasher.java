@@ -0,0 +1,120 @@
+package org.example.capstone.services;
+
+import org.example.capstone.telemetry.PasswordHashEvent;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 from the JDK with a configurable iteration count.
+ * <p>
+ * Hashes are stored as {@code $pbkdf2-sha256$<iterations>$<salt>$<hash>} with Base64 salt and hash, so every hash
+ * records the cost it was written at. Hashes with fewer iterations than the current setting still verify, but
+ * {@link #needsRehash(String)} reports them so they can be upgraded on the next login.
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    /**
+     * The prefix identifying hashes in this format.
+     */
+    public static final String PREFIX = "$pbkdf2-sha256$";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Creates the hasher.
+     * @param iterations The number of PBKDF2 iterations for new hashes.
+     */
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations, "hash");
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(String password, String encoded) {
+        String[] parts = split(encoded);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations, "verify"));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean handles(String encoded) {
+        return encoded != null && encoded.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        String[] parts = split(encoded);
+        try {
+            return parts == null || Integer.parseInt(parts[0]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Gets the iteration count used for new hashes.
+     * @return The iteration count.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    private static String[] split(String encoded) {
+        if (encoded == null || !encoded.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = encoded.substring(PREFIX.length()).split("\\$");
+        return parts.length == 3 ? parts : null;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, String operation) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            // SecretKeyFactory instances are not thread-safe; lookups are cheap next to the derivation itself
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = "pbkdf2-sha256";
+                event.operation = operation;
+                event.iterations = iterations;
+                event.commit();
+            }
+        }
+    }
+}
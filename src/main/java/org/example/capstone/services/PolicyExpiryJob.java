@@ -0,0 +1,145 @@
+package org.example.capstone.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.example.capstone.dataaccess.AutoPolicyRepository;
+import org.example.capstone.dataaccess.HomePolicyRepository;
+import org.example.capstone.telemetry.QuoteMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Scheduled job that keeps the {@code active} flag of home and auto policies in line with their end dates,
+ * so the active-policy endpoints and the bundle discount never see lapsed policies.
+ * <p>
+ * Expired policies are deactivated with set-based {@code UPDATE} statements in ID-ordered chunks, each in
+ * its own short transaction. Chunk IDs are read without locks over the {@code (active, end_date)} index and the
+ * update re-checks the predicate, so only the rows being updated are locked. After the sweep, the policies ending
+ * within the renewal window are counted, and with {@code capstone.policies.renewal.publish-batches} set they are
+ * also published as {@link PolicyRenewalBatchEvent}s for a renewal processor, which does not exist yet.
+ * <p>
+ * The counts of the last sweep are published as the {@code capstone.policies.expired} and
+ * {@code capstone.policies.renewal.due} gauges, by {@code type} (home, auto).
+ */
+@Component
+public class PolicyExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyExpiryJob.class);
+
+    @Autowired private HomePolicyRepository homePolicyRepository;
+    @Autowired private AutoPolicyRepository autoPolicyRepository;
+    @Autowired private ChangeTracker changeTracker;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Value("${capstone.policies.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${capstone.policies.renewal-window-days:30}")
+    private int renewalWindowDays;
+
+    @Value("${capstone.policies.renewal.publish-batches:false}")
+    private boolean publishRenewalBatches;
+
+    private volatile long lastExpiredHomePolicies;
+    private volatile long lastExpiredAutoPolicies;
+    private volatile long homePoliciesDueForRenewal;
+    private volatile long autoPoliciesDueForRenewal;
+
+    /**
+     * Registers the gauges reporting the last sweep.
+     */
+    @PostConstruct
+    public void registerMeters() {
+        gauge("capstone.policies.expired", QuoteMetrics.HOME, "Home policies deactivated by the last expiry sweep",
+                PolicyExpiryJob::getLastExpiredHomePolicies);
+        gauge("capstone.policies.expired", QuoteMetrics.AUTO, "Auto policies deactivated by the last expiry sweep",
+                PolicyExpiryJob::getLastExpiredAutoPolicies);
+        gauge("capstone.policies.renewal.due", QuoteMetrics.HOME, "Active home policies ending within the renewal window",
+                job -> job.homePoliciesDueForRenewal);
+        gauge("capstone.policies.renewal.due", QuoteMetrics.AUTO, "Active auto policies ending within the renewal window",
+                job -> job.autoPoliciesDueForRenewal);
+    }
+
+    /**
+     * Deactivates expired policies and publishes the renewal batches.
+     * Runs on the {@code capstone.policies.expiry.cron} schedule (nightly by default).
+     */
+    @Scheduled(cron = "${capstone.policies.expiry.cron:0 0 1 * * *}")
+    public void sweepPolicies() {
+        LocalDate today = LocalDate.now();
+        lastExpiredHomePolicies = KeysetChunks.forEachChunk(transactionTemplate,
+                afterId -> homePolicyRepository.findExpiredIds(afterId, today, chunkSize),
+                ids -> homePolicyRepository.deactivateExpired(ids, today));
+        lastExpiredAutoPolicies = KeysetChunks.forEachChunk(transactionTemplate,
+                afterId -> autoPolicyRepository.findExpiredIds(afterId, today, chunkSize),
+                ids -> autoPolicyRepository.deactivateExpired(ids, today));
+        if (lastExpiredHomePolicies + lastExpiredAutoPolicies > 0) {
+            // Set-based updates bypass the entity listeners, so invalidate every customer's ETag at once
+            changeTracker.globalChanged();
+        }
+        log.info("Policy expiry sweep complete: {} home policies and {} auto policies deactivated.",
+                lastExpiredHomePolicies, lastExpiredAutoPolicies);
+
+        LocalDate windowEnd = today.plusDays(renewalWindowDays);
+        homePoliciesDueForRenewal = homePolicyRepository.countByActiveAndEndDateBetween(true, today, windowEnd);
+        autoPoliciesDueForRenewal = autoPolicyRepository.countByActiveAndEndDateBetween(true, today, windowEnd);
+        log.info("{} home policies and {} auto policies end by {}.",
+                homePoliciesDueForRenewal, autoPoliciesDueForRenewal, windowEnd);
+        if (publishRenewalBatches) {
+            publishRenewalBatches(PolicyRenewalBatchEvent.PolicyType.HOME, windowEnd,
+                    afterId -> homePolicyRepository.findExpiringIds(afterId, today, windowEnd, chunkSize));
+            publishRenewalBatches(PolicyRenewalBatchEvent.PolicyType.AUTO, windowEnd,
+                    afterId -> autoPolicyRepository.findExpiringIds(afterId, today, windowEnd, chunkSize));
+        }
+    }
+
+    /**
+     * Gets the number of home policies deactivated by the last sweep.
+     * @return The row count of the last home policy sweep.
+     */
+    public long getLastExpiredHomePolicies() {
+        return lastExpiredHomePolicies;
+    }
+
+    /**
+     * Gets the number of auto policies deactivated by the last sweep.
+     * @return The row count of the last auto policy sweep.
+     */
+    public long getLastExpiredAutoPolicies() {
+        return lastExpiredAutoPolicies;
+    }
+
+    private void gauge(String name, String type, String description, ToDoubleFunction<PolicyExpiryJob> value) {
+        Gauge.builder(name, this, value)
+                .tag("type", type)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private void publishRenewalBatches(PolicyRenewalBatchEvent.PolicyType type, LocalDate windowEnd,
+                                       IntFunction<List<Integer>> nextChunk) {
+        int afterId = 0;
+        int batches = 0;
+        List<Integer> ids;
+        while (!(ids = nextChunk.apply(afterId)).isEmpty()) {
+            eventPublisher.publishEvent(new PolicyRenewalBatchEvent(type, ids, windowEnd));
+            afterId = ids.get(ids.size() - 1);
+            batches++;
+        }
+        log.info("Published {} {} renewal batches for policies ending by {}.", batches, type, windowEnd);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.capstone.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Application event published by {@link PolicyExpiryJob} with a batch of active policies that end
+ * within the renewal window. The same policy is published on every run until it is renewed or expires,
+ * so listeners should treat batches idempotently.
+ * <p>
+ * Renewal processing itself is not part of this application yet: nothing listens for these events, and they
+ * are only published when {@code capstone.policies.renewal.publish-batches} is set.
+ */
+public class PolicyRenewalBatchEvent {
+
+    /**
+     * The kind of policy contained in a batch.
+     */
+    public enum PolicyType {
+        HOME,
+        AUTO
+    }
+
+    private final PolicyType policyType;
+    private final List<Integer> policyIds;
+    private final LocalDate windowEnd;
+
+    /**
+     * Creates a renewal batch.
+     * @param policyType The kind of policies in the batch.
+     * @param policyIds  The IDs of the policies ending within the window.
+     * @param windowEnd  The last end date included in the window.
+     */
+    public PolicyRenewalBatchEvent(PolicyType policyType, List<Integer> policyIds, LocalDate windowEnd) {
+        this.policyType = policyType;
+        this.policyIds = List.copyOf(policyIds);
+        this.windowEnd = windowEnd;
+    }
+
+    /**
+     * Gets the kind of policies in the batch.
+     * @return The policy type.
+     */
+    public PolicyType getPolicyType() {
+        return policyType;
+    }
+
+    /**
+     * Gets the IDs of the policies in the batch.
+     * @return An immutable list of policy IDs.
+     */
+    public List<Integer> getPolicyIds() {
+        return policyIds;
+    }
+
+    /**
+     * Gets the last end date included in the renewal window.
+     * @return The window end date.
+     */
+    public LocalDate getWindowEnd() {
+        return windowEnd;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.capstone.services;
+
+import org.example.capstone.dataaccess.AutoQuoteRepository;
+import org.example.capstone.dataaccess.HomeQuoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduled job that keeps the live {@code home_quote} and {@code auto_quote} tables small by moving
+ * old quotes into {@code home_quote_archive} and {@code auto_quote_archive}.
+ * <p>
+ * Inactive quotes (bound to a policy or deactivated) are archived once they are older than the inactive
+ * retention window; quotes that were never bound are archived once they are older than the expired
+ * retention window. Rows are moved in bounded, ID-ordered chunks. Chunk IDs are read without locks over the
+ * {@code (active, generation_date)} index; the copy re-checks the retention predicate and the delete only removes
+ * rows that reached the archive, so a quote bound in the meantime is never archived and only the moved rows
+ * are locked.
+ */
+@Component
+public class QuoteArchivalJob {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteArchivalJob.class);
+
+    @Autowired private HomeQuoteRepository homeQuoteRepository;
+    @Autowired private AutoQuoteRepository autoQuoteRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ChangeTracker changeTracker;
+
+    @Value("${capstone.archive.quotes.inactive-retention-days:90}")
+    private int inactiveRetentionDays;
+
+    @Value("${capstone.archive.quotes.expired-retention-days:365}")
+    private int expiredRetentionDays;
+
+    @Value("${capstone.archive.quotes.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Archives all home and auto quotes that are past their retention window.
+     * Runs on the {@code capstone.archive.quotes.cron} schedule (nightly by default).
+     */
+    @Scheduled(cron = "${capstone.archive.quotes.cron:0 30 2 * * *}")
+    public void archiveQuotes() {
+        LocalDate today = LocalDate.now();
+        LocalDate expiredCutoff = today.minusDays(expiredRetentionDays);
+        // Quotes past the expired cutoff are due whatever their status, so inactive ones never need an earlier cutoff
+        LocalDate inactiveCutoff = latest(today.minusDays(inactiveRetentionDays), expiredCutoff);
+
+        long homeQuotes = KeysetChunks.forEachChunk(transactionTemplate,
+                afterId -> homeQuoteRepository.findArchivableIds(afterId, inactiveCutoff, expiredCutoff, chunkSize),
+                ids -> {
+                    homeQuoteRepository.copyToArchive(ids, inactiveCutoff, expiredCutoff, today);
+                    return homeQuoteRepository.deleteArchivedByIdIn(ids);
+                });
+        long autoQuotes = KeysetChunks.forEachChunk(transactionTemplate,
+                afterId -> autoQuoteRepository.findArchivableIds(afterId, inactiveCutoff, expiredCutoff, chunkSize),
+                ids -> {
+                    autoQuoteRepository.copyToArchive(ids, inactiveCutoff, expiredCutoff, today);
+                    return autoQuoteRepository.deleteArchivedByIdIn(ids);
+                });
+        if (homeQuotes + autoQuotes > 0) {
+            // Set-based moves bypass the entity listeners, so invalidate every customer's ETag at once
+            changeTracker.globalChanged();
+        }
+        log.info("Quote archival complete: {} home quotes and {} auto quotes archived.", homeQuotes, autoQuotes);
+    }
+
+    private static LocalDate latest(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
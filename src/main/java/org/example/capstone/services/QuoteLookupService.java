@@ -0,0 +1,196 @@
+package org.example.capstone.services;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.capstone.dataaccess.AccidentsRepository;
+import org.example.capstone.dataaccess.AutoPolicyRepository;
+import org.example.capstone.dataaccess.AutoRepository;
+import org.example.capstone.dataaccess.CustomerRepository;
+import org.example.capstone.dataaccess.HomePolicyRepository;
+import org.example.capstone.dataaccess.HomeRepository;
+import org.example.capstone.pojos.Auto;
+import org.example.capstone.pojos.Customer;
+import org.example.capstone.pojos.Home;
+import org.example.capstone.telemetry.QuoteMetrics;
+import org.example.capstone.telemetry.RequestTiming;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads everything needed to price a home or auto quote with the independent lookups running concurrently,
+ * so quote latency is that of the slowest lookup rather than the sum of all of them.
+ * <p>
+ * Each lookup runs on its own virtual thread and borrows its own connection, so a quote can hold up to four.
+ * Lookups across all quotes share {@code capstone.quote.lookup-connections} permits, which keeps a burst of
+ * quotes from draining the pool that every other request also needs. All lookups of one quote share a deadline
+ * of {@code capstone.quote.deadline-ms}, which also bounds the wait for a permit; if it passes,
+ * {@link QuoteLookupTimeoutException} is thrown and the unfinished lookups are interrupted. An interrupted
+ * virtual thread stops waiting for a pool connection, and one blocked in socket I/O has its socket closed, so
+ * an abandoned lookup gives its connection back (or gets it evicted) instead of holding it.
+ */
+@Service
+public class QuoteLookupService {
+
+    /**
+     * The inputs for pricing a home quote.
+     * @param customer             The customer, if found.
+     * @param home                 The home, if found.
+     * @param hasActiveAutoPolicy  Whether the customer has an active auto policy (false if not looked up).
+     */
+    public record HomeQuoteInputs(Optional<Customer> customer, Optional<Home> home, boolean hasActiveAutoPolicy) {
+    }
+
+    /**
+     * The inputs for pricing an auto quote.
+     * @param customer             The customer, if found.
+     * @param auto                 The vehicle, if found.
+     * @param recentAccidents      The number of the customer's accidents within the look-back window.
+     * @param hasActiveHomePolicy  Whether the customer has an active home policy (false if not looked up).
+     */
+    public record AutoQuoteInputs(Optional<Customer> customer, Optional<Auto> auto, long recentAccidents,
+                                  boolean hasActiveHomePolicy) {
+    }
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private HomeRepository homeRepository;
+    @Autowired private AutoRepository autoRepository;
+    @Autowired private AccidentsRepository accidentsRepository;
+    @Autowired private HomePolicyRepository homePolicyRepository;
+    @Autowired private AutoPolicyRepository autoPolicyRepository;
+    @Autowired private QuoteMetrics quoteMetrics;
+
+    private final long deadlineMillis;
+    private final Semaphore connections;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates the service.
+     * @param deadlineMillis    The deadline for all lookups of one quote, in milliseconds.
+     * @param lookupConnections The maximum number of pool connections held by lookups at once.
+     */
+    public QuoteLookupService(@Value("${capstone.quote.deadline-ms:2000}") long deadlineMillis,
+                              @Value("${capstone.quote.lookup-connections:10}") int lookupConnections) {
+        this.deadlineMillis = deadlineMillis;
+        this.connections = new Semaphore(lookupConnections);
+    }
+
+    /**
+     * Loads the customer, the home and, unless the quote is already packaged, the customer's auto policy status.
+     * @param customerId    The ID of the customer.
+     * @param homeId        The ID of the home.
+     * @param packagedQuote True if the bundle discount applies regardless of existing policies.
+     * @return The pricing inputs.
+     */
+    public HomeQuoteInputs lookupHomeQuoteInputs(Long customerId, Long homeId, boolean packagedQuote) {
+        Lookups lookups = new Lookups();
+        CompletableFuture<Optional<Customer>> customer = lookups.submit(() -> customerRepository.findById(customerId));
+        CompletableFuture<Optional<Home>> home = lookups.submit(() -> homeRepository.findById(homeId));
+        CompletableFuture<Boolean> activeAutoPolicy = packagedQuote
+                ? CompletableFuture.completedFuture(false)
+                : lookups.submit(() -> autoPolicyRepository.existsByCustIdAndActive(customerId, true));
+        lookups.awaitAll(QuoteMetrics.HOME);
+        return new HomeQuoteInputs(customer.join(), home.join(), activeAutoPolicy.join());
+    }
+
+    /**
+     * Loads the customer, the vehicle, the customer's recent accident count and, unless the quote is already
+     * packaged, the customer's home policy status.
+     * @param customerId     The ID of the customer.
+     * @param autoId         The ID of the vehicle.
+     * @param packagedQuote  True if the bundle discount applies regardless of existing policies.
+     * @param accidentsAfter Only accidents after this date are counted.
+     * @return The pricing inputs.
+     */
+    public AutoQuoteInputs lookupAutoQuoteInputs(Long customerId, Long autoId, boolean packagedQuote,
+                                                 LocalDate accidentsAfter) {
+        Lookups lookups = new Lookups();
+        CompletableFuture<Optional<Customer>> customer = lookups.submit(() -> customerRepository.findById(customerId));
+        CompletableFuture<Optional<Auto>> auto = lookups.submit(() -> autoRepository.findById(autoId));
+        CompletableFuture<Long> accidents = lookups.submit(() ->
+                accidentsRepository.countByCustomerIdAndDateAfter(customerId.intValue(), accidentsAfter));
+        CompletableFuture<Boolean> activeHomePolicy = packagedQuote
+                ? CompletableFuture.completedFuture(false)
+                : lookups.submit(() -> homePolicyRepository.existsByCustIdAndActive(customerId, true));
+        lookups.awaitAll(QuoteMetrics.AUTO);
+        return new AutoQuoteInputs(customer.join(), auto.join(), accidents.join(), activeHomePolicy.join());
+    }
+
+    /**
+     * Stops the lookup executor when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * The lookups of one quote, sharing its deadline.
+     */
+    private final class Lookups {
+
+        private final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        private final List<CompletableFuture<?>> results = new ArrayList<>();
+        private final List<Future<?>> tasks = new ArrayList<>();
+
+        <T> CompletableFuture<T> submit(Supplier<T> query) {
+            Supplier<T> timed = RequestTiming.propagate(query);
+            CompletableFuture<T> result = new CompletableFuture<>();
+            results.add(result);
+            tasks.add(executor.submit(() -> {
+                try {
+                    result.complete(withConnectionPermit(timed));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }));
+            return result;
+        }
+
+        void awaitAll(String type) {
+            Timer.Sample sample = Timer.start();
+            try {
+                CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                        .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS).join();
+                sample.stop(quoteMetrics.lookupTimer(type));
+            } catch (CompletionException e) {
+                for (Future<?> task : tasks) {
+                    task.cancel(true);
+                }
+                if (e.getCause() instanceof TimeoutException || e.getCause() instanceof QuoteLookupTimeoutException) {
+                    quoteMetrics.lookupTimeouts(type).increment();
+                    throw new QuoteLookupTimeoutException(deadlineMillis);
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        private <T> T withConnectionPermit(Supplier<T> query) throws InterruptedException {
+            if (!connections.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new QuoteLookupTimeoutException(deadlineMillis);
+            }
+            try {
+                return query.get();
+            } finally {
+                connections.release();
+            }
+        }
+    }
+}
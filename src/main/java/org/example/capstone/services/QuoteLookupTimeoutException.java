@@ -0,0 +1,18 @@
+package org.example.capstone.services;
+
+/**
+ * Thrown when the lookups needed to price a quote do not all complete within the quote deadline.
+ * Mapped to {@code 503 Service Unavailable}.
+ */
+public class QuoteLookupTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     * @param deadlineMillis The deadline that was exceeded, in milliseconds.
+     */
+    public QuoteLookupTimeoutException(long deadlineMillis) {
+        super("Quote lookups did not complete within " + deadlineMillis + " ms.");
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.capstone.services;
+
+import org.example.capstone.dataaccess.AutoPolicyRepository;
+import org.example.capstone.dataaccess.CustomerRepository;
+import org.example.capstone.dataaccess.HomePolicyRepository;
+import org.example.capstone.pojos.AutoPolicy;
+import org.example.capstone.pojos.Customer;
+import org.example.capstone.pojos.HomePolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Shares one database load between concurrent identical reads of the hottest customer endpoints.
+ * <p>
+ * Each read is keyed by the customer's current ETag from {@link ChangeTracker}, so a write to the customer's
+ * data moves later reads to a new key and a retained result is never served after the write that replaced it.
+ * Results are kept for {@code capstone.coalescing.ttl-ms} (0 to only share loads that are still running).
+ * All associations on the returned entities are eager, so sharing them between requests is read-only.
+ */
+@Service
+public class ReadCoalescingService {
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private HomePolicyRepository homePolicyRepository;
+    @Autowired private AutoPolicyRepository autoPolicyRepository;
+
+    @Value("${capstone.coalescing.enabled:true}")
+    private boolean enabled;
+
+    private final SingleFlight<String, Optional<Customer>> customers;
+    private final SingleFlight<String, Iterable<HomePolicy>> activeHomePolicies;
+    private final SingleFlight<String, Iterable<AutoPolicy>> activeAutoPolicies;
+
+    public ReadCoalescingService(
+            @Value("${capstone.coalescing.ttl-ms:250}") long ttlMillis,
+            @Value("${capstone.coalescing.max-keys:10000}") int maxKeys) {
+        this.customers = new SingleFlight<>(ttlMillis, maxKeys);
+        this.activeHomePolicies = new SingleFlight<>(ttlMillis, maxKeys);
+        this.activeAutoPolicies = new SingleFlight<>(ttlMillis, maxKeys);
+    }
+
+    /**
+     * Loads a customer by ID.
+     * @param customerId The customer's ID.
+     * @param etag       The customer's current ETag.
+     * @return The customer, if found.
+     */
+    public Optional<Customer> customer(Long customerId, String etag) {
+        if (!enabled) {
+            return customerRepository.findById(customerId);
+        }
+        return customers.load(etag, () -> customerRepository.findById(customerId));
+    }
+
+    /**
+     * Loads a customer's active home policies.
+     * @param customerId The customer's ID.
+     * @param etag       The customer's current ETag.
+     * @return The active home policies.
+     */
+    public Iterable<HomePolicy> activeHomePolicies(Long customerId, String etag) {
+        if (!enabled) {
+            return homePolicyRepository.getAllActiveByCustIdAndActive(customerId, true);
+        }
+        return activeHomePolicies.load(etag, () -> homePolicyRepository.getAllActiveByCustIdAndActive(customerId, true));
+    }
+
+    /**
+     * Loads a customer's active auto policies.
+     * @param customerId The customer's ID.
+     * @param etag       The customer's current ETag.
+     * @return The active auto policies.
+     */
+    public Iterable<AutoPolicy> activeAutoPolicies(Long customerId, String etag) {
+        if (!enabled) {
+            return autoPolicyRepository.getAllActiveByCustIdAndActive(customerId, true);
+        }
+        return activeAutoPolicies.load(etag, () -> autoPolicyRepository.getAllActiveByCustIdAndActive(customerId, true));
+    }
+
+    /**
+     * Drops retained results that have expired, keeping the maps small between bursts.
+     */
+    @Scheduled(fixedDelayString = "${capstone.coalescing.eviction-interval-ms:10000}")
+    public void evictExpired() {
+        customers.evictExpired();
+        activeHomePolicies.evictExpired();
+        activeAutoPolicies.evictExpired();
+    }
+
+    /**
+     * Describes each coalesced read for telemetry.
+     * @return Load, join and reuse counts per endpoint.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("customer", customers.snapshot());
+        snapshot.put("activeHomePolicies", activeHomePolicies.snapshot());
+        snapshot.put("activeAutoPolicies", activeAutoPolicies.snapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.capstone.services;
+
+import java.time.Instant;
+
+/**
+ * The verified contents of a session token issued by {@link SessionTokenService}: who the caller is,
+ * what role they hold and when the token stops being accepted.
+ */
+public class SessionToken {
+
+    /**
+     * The kind of account a token was issued to. Admins are employees with {@code Employee.admin} set.
+     */
+    public enum Role {
+        CUSTOMER,
+        EMPLOYEE,
+        ADMIN
+    }
+
+    private final Role role;
+    private final int subjectId;
+    private final Instant expiresAt;
+
+    /**
+     * Creates a session token.
+     * @param role      The role of the account.
+     * @param subjectId The customer ID for customers, otherwise the employee ID.
+     * @param expiresAt The instant after which the token is rejected.
+     */
+    public SessionToken(Role role, int subjectId, Instant expiresAt) {
+        this.role = role;
+        this.subjectId = subjectId;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Gets the role of the account.
+     * @return The role.
+     */
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Gets the customer or employee ID the token was issued to.
+     * @return The subject ID.
+     */
+    public int getSubjectId() {
+        return subjectId;
+    }
+
+    /**
+     * Gets the expiry of the token.
+     * @return The instant after which the token is rejected.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Checks whether the token belongs to an employee, including admins.
+     * @return True for employee and admin tokens.
+     */
+    public boolean isEmployee() {
+        return role == Role.EMPLOYEE || role == Role.ADMIN;
+    }
+
+    /**
+     * Checks whether the token belongs to an admin.
+     * @return True for admin tokens.
+     */
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
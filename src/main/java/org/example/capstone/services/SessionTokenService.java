@@ -0,0 +1,146 @@
+package org.example.capstone.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies stateless, HMAC-SHA256 signed session tokens.
+ * <p>
+ * A token is {@code base64url(payload) + "." + base64url(signature)}, where the payload is
+ * {@code role:subjectId:expiryEpochSeconds}. Verifying one is a single HMAC over a few dozen bytes and never
+ * touches the database, so the expensive password check only has to happen once per session at login.
+ * <p>
+ * The signing key comes from {@code capstone.session.secret}. When it is blank a random key is generated at
+ * startup, which means tokens do not survive a restart and are not accepted by other nodes.
+ */
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration timeToLive;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Creates the token service.
+     * @param secret     The signing secret; blank to generate a random one.
+     * @param ttlMinutes How long an issued token stays valid.
+     */
+    public SessionTokenService(@Value("${capstone.session.secret:}") String secret,
+                               @Value("${capstone.session.ttl-minutes:60}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("capstone.session.secret is not set; session tokens are signed with a random key and will not survive a restart.");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.timeToLive = Duration.ofMinutes(ttlMinutes);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Issues a token for a customer.
+     * @param customerId The customer ID.
+     * @return The signed token.
+     */
+    public String issueCustomerToken(int customerId) {
+        return issue(new SessionToken(SessionToken.Role.CUSTOMER, customerId, Instant.now().plus(timeToLive)));
+    }
+
+    /**
+     * Issues a token for an employee, with the admin role when the employee is an admin.
+     * @param employeeId The employee ID.
+     * @param admin      Whether the employee has admin privileges.
+     * @return The signed token.
+     */
+    public String issueEmployeeToken(int employeeId, boolean admin) {
+        SessionToken.Role role = admin ? SessionToken.Role.ADMIN : SessionToken.Role.EMPLOYEE;
+        return issue(new SessionToken(role, employeeId, Instant.now().plus(timeToLive)));
+    }
+
+    /**
+     * Signs a session token.
+     * @param token The token contents.
+     * @return The encoded, signed token.
+     */
+    public String issue(SessionToken token) {
+        String payload = token.getRole().name() + ":" + token.getSubjectId() + ":" + token.getExpiresAt().getEpochSecond();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verifies a token's signature and expiry.
+     * @param encoded The encoded token.
+     * @return The token contents, or null if the token is malformed, forged or expired.
+     */
+    public SessionToken verify(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        int dot = encoded.indexOf('.');
+        if (dot <= 0 || dot != encoded.lastIndexOf('.')) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(encoded.substring(0, dot));
+            byte[] signature = DECODER.decode(encoded.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                return null;
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[2]));
+            if (!Instant.now().isBefore(expiresAt)) {
+                return null;
+            }
+            return new SessionToken(SessionToken.Role.valueOf(parts[0]), Integer.parseInt(parts[1]), expiresAt);
+        } catch (IllegalArgumentException e) {
+            // Bad base64, role or number
+            return null;
+        }
+    }
+
+    /**
+     * Gets how long issued tokens stay valid.
+     * @return The token lifetime.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
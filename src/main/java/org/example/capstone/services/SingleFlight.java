@@ -0,0 +1,132 @@
+package org.example.capstone.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader and every caller that arrives
+ * while it is running waits for and shares that result instead of loading again.
+ * <p>
+ * A completed result can optionally be kept for {@code ttlMillis} and handed to later callers as well. Keys
+ * are expected to carry their own version (for example an ETag), so a write changes the key rather than having
+ * to invalidate it. Failed loads are never kept; their waiters get the same exception. At most {@code maxEntries}
+ * completed results are retained, and expired ones are dropped by {@link #evictExpired()}.
+ * @param <K> The key type.
+ * @param <V> The loaded value type.
+ */
+public class SingleFlight<K, V> {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder joinedInFlight = new LongAdder();
+    private final LongAdder servedFromCache = new LongAdder();
+
+    /**
+     * Creates a coalescer.
+     * @param ttlMillis  How long a completed result is reused, or 0 to only share in-flight loads.
+     * @param maxEntries The maximum number of keys tracked at once.
+     */
+    public SingleFlight(long ttlMillis, int maxEntries) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("ttlMillis must not be negative");
+        }
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the value for the key, loading it on this thread unless a load is already running or a fresh
+     * result is retained.
+     * @param key    The key, including anything that versions the value.
+     * @param loader Loads the value. Runs at most once per flight.
+     * @return The loaded or shared value.
+     */
+    public V load(K key, Supplier<V> loader) {
+        while (true) {
+            Flight<V> flight = flights.get(key);
+            if (flight != null) {
+                if (!flight.result.isDone()) {
+                    joinedInFlight.increment();
+                    return flight.await();
+                }
+                if (System.nanoTime() - flight.completedAt < ttlNanos) {
+                    servedFromCache.increment();
+                    return flight.await();
+                }
+                flights.remove(key, flight);
+                continue;
+            }
+            if (flights.size() >= maxEntries) {
+                // Too many distinct keys to track; load without coalescing rather than grow without bound
+                loads.increment();
+                return loader.get();
+            }
+            Flight<V> mine = new Flight<>();
+            if (flights.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            loads.increment();
+            try {
+                V value = loader.get();
+                mine.completedAt = System.nanoTime();
+                mine.result.complete(value);
+                if (ttlNanos == 0) {
+                    flights.remove(key, mine);
+                }
+                return value;
+            } catch (RuntimeException | Error e) {
+                flights.remove(key, mine);
+                mine.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Drops retained results whose time to live has passed.
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> flight.result.isDone() && now - flight.completedAt >= ttlNanos);
+    }
+
+    /**
+     * Describes the coalescer for telemetry.
+     * @return Tracked keys, and how many calls loaded, joined a running load or reused a retained result.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("trackedKeys", flights.size());
+        snapshot.put("ttlMs", ttlNanos / 1_000_000);
+        snapshot.put("loads", loads.sum());
+        snapshot.put("joinedInFlight", joinedInFlight.sum());
+        snapshot.put("servedFromCache", servedFromCache.sum());
+        return snapshot;
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
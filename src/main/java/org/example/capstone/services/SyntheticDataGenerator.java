@@ -0,0 +1,286 @@
+package org.example.capstone.services;
+
+import org.example.capstone.pojos.Address;
+import org.example.capstone.pojos.Home;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty database with synthetic customers, addresses, homes, autos, accidents, quotes and policies
+ * for load tests and benchmarks. Only active in the {@code perf} profile.
+ * <p>
+ * Rows are generated in blocks of {@code capstone.perf.batch-size} customers and written with JDBC batch
+ * inserts in dependency order, bypassing JPA so millions of rows load in minutes. Values follow rough real-world
+ * distributions (provinces by population, driver ages, home values, accident rates) from a fixed seed, so runs
+ * are repeatable. Afterwards the Hibernate ID sequences are moved past the generated IDs.
+ */
+@Component
+@Profile("perf")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] PROVINCES = {"ON", "QC", "BC", "AB", "MB", "SK", "NS", "NB", "NL", "PE"};
+    private static final int[] PROVINCE_WEIGHTS = {38, 22, 14, 12, 4, 3, 3, 2, 1, 1};
+    private static final String[][] CITIES = {
+            {"Toronto", "Ottawa", "Mississauga", "Hamilton", "London"},
+            {"Montreal", "Quebec City", "Laval", "Gatineau"},
+            {"Vancouver", "Surrey", "Burnaby", "Victoria"},
+            {"Calgary", "Edmonton", "Red Deer"},
+            {"Winnipeg", "Brandon"},
+            {"Saskatoon", "Regina"},
+            {"Halifax", "Sydney"},
+            {"Moncton", "Saint John", "Fredericton"},
+            {"St. John's", "Corner Brook", "Gander"},
+            {"Charlottetown", "Summerside"}
+    };
+    private static final String[] STREETS = {"Main St", "King St", "Queen St", "Water St", "Elm Ave", "Maple Dr",
+            "Oak Rd", "Pine Cres", "Church St", "Victoria Rd", "Park Ave", "Lakeshore Blvd"};
+    private static final String[] FIRST_NAMES = {"Liam", "Olivia", "Noah", "Emma", "William", "Charlotte", "James",
+            "Amelia", "Lucas", "Sophia", "Benjamin", "Ava", "Jacob", "Mia", "Ethan", "Chloe", "Mohammed", "Zoe"};
+    private static final String[] LAST_NAMES = {"Smith", "Brown", "Tremblay", "Martin", "Roy", "Wilson", "Gagnon",
+            "Johnson", "MacDonald", "Taylor", "Campbell", "Anderson", "Lee", "Walsh", "Nguyen", "Singh"};
+    private static final String[][] VEHICLES = {
+            {"Toyota", "Corolla"}, {"Toyota", "RAV4"}, {"Honda", "Civic"}, {"Honda", "CR-V"}, {"Ford", "F-150"},
+            {"Ford", "Escape"}, {"Chevrolet", "Silverado"}, {"Hyundai", "Elantra"}, {"Mazda", "CX-5"},
+            {"Nissan", "Rogue"}, {"Kia", "Sportage"}, {"Ram", "1500"}, {"Tesla", "Model 3"}
+    };
+    private static final int[] HEATING_WEIGHTS = {15, 7, 30, 45, 3};      // OIL, WOOD, ELECTRIC, GAS, OTHER
+    private static final int[] DWELLING_WEIGHTS = {55, 15, 12, 13, 5};    // STANDALONE ... OTHER_DWELLING
+    private static final double TAX_RATE = 0.15;
+
+    private static final String[] TABLES = {"address", "customer", "employee", "home", "auto", "accident",
+            "home_quote", "auto_quote", "home_policy", "auto_policy"};
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PasswordHasher passwordHasher;
+
+    @Value("${capstone.perf.generate:true}")
+    private boolean generate;
+
+    @Value("${capstone.perf.customers:200000}")
+    private int customerCount;
+
+    @Value("${capstone.perf.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${capstone.perf.seed:42}")
+    private long seed;
+
+    private final LocalDate today = LocalDate.now();
+    private Random random;
+    private final int[] nextIds = new int[TABLES.length];
+
+    private final List<Object[]> addresses = new ArrayList<>();
+    private final List<Object[]> customers = new ArrayList<>();
+    private final List<Object[]> homes = new ArrayList<>();
+    private final List<Object[]> autos = new ArrayList<>();
+    private final List<Object[]> accidents = new ArrayList<>();
+    private final List<Object[]> homeQuotes = new ArrayList<>();
+    private final List<Object[]> autoQuotes = new ArrayList<>();
+    private final List<Object[]> homePolicies = new ArrayList<>();
+    private final List<Object[]> autoPolicies = new ArrayList<>();
+
+    /**
+     * Generates the data set on startup unless generation is disabled or the database already holds customers.
+     * @param args The application arguments (unused).
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer", Integer.class);
+        if (!generate || (existing != null && existing > 0)) {
+            return;
+        }
+        long started = System.nanoTime();
+        random = new Random(seed);
+        for (int i = 0; i < TABLES.length; i++) {
+            Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + TABLES[i], Integer.class);
+            nextIds[i] = (maxId == null ? 0 : maxId) + 1;
+        }
+        String passwordHash = passwordHasher.hash("password");
+        jdbcTemplate.update("INSERT INTO employee (id, first_name, last_name, email, username, password, admin)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", nextId(2), "Perf", "Admin", "admin@example.com", "admin", passwordHash, true);
+
+        for (int generated = 0; generated < customerCount; generated++) {
+            generateCustomer(passwordHash);
+            if (customers.size() >= batchSize) {
+                flush();
+                log.info("Synthetic data: {} of {} customers generated.", generated + 1, customerCount);
+            }
+        }
+        flush();
+        for (int i = 0; i < TABLES.length; i++) {
+            // Hibernate's pooled optimizer hands out (value - 49 .. value), so restart a full block past the last ID
+            jdbcTemplate.execute("ALTER SEQUENCE " + TABLES[i] + "_seq RESTART WITH " + (nextIds[i] + 50));
+        }
+        log.info("Synthetic data generated in {} s.", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void generateCustomer(String passwordHash) {
+        int customerId = nextId(1);
+        int addressId = generateAddress();
+        String firstName = pick(FIRST_NAMES);
+        String lastName = pick(LAST_NAMES);
+        // Sum of three uniforms gives a bell shaped age curve between 18 and 85, centred around 50
+        int age = 18 + (int) ((random.nextDouble() + random.nextDouble() + random.nextDouble()) / 3 * 67);
+        LocalDate birthday = today.minusYears(age).minusDays(random.nextInt(365));
+        customers.add(new Object[]{customerId, birthday, firstName, lastName,
+                (firstName + "." + lastName + customerId + "@example.com").toLowerCase(),
+                "user" + customerId, passwordHash, addressId});
+
+        int accidentCount = poisson(0.3);
+        for (int i = 0; i < accidentCount; i++) {
+            accidents.add(new Object[]{nextId(5), today.minusDays(random.nextInt(3650)), customerId});
+        }
+
+        double roll = random.nextDouble();
+        int homeCount = roll < 0.35 ? 0 : roll < 0.90 ? 1 : 2;
+        for (int i = 0; i < homeCount; i++) {
+            generateHome(customerId, i == 0 ? addressId : generateAddress());
+        }
+
+        roll = random.nextDouble();
+        int autoCount = roll < 0.20 ? 0 : roll < 0.70 ? 1 : roll < 0.95 ? 2 : 3;
+        for (int i = 0; i < autoCount; i++) {
+            generateAuto(customerId);
+        }
+    }
+
+    private int generateAddress() {
+        int province = weighted(PROVINCE_WEIGHTS);
+        Integer unit = random.nextDouble() < 0.3 ? 1 + random.nextInt(2000) : 0;
+        String street = (1 + random.nextInt(9999)) + " " + pick(STREETS);
+        String city = pick(CITIES[province]);
+        String postalCode = "" + (char) ('A' + random.nextInt(26)) + random.nextInt(10) + (char) ('A' + random.nextInt(26))
+                + " " + random.nextInt(10) + (char) ('A' + random.nextInt(26)) + random.nextInt(10);
+        int id = nextId(0);
+        addresses.add(new Object[]{id, unit, street, city, PROVINCES[province], postalCode,
+                Address.hashOf(unit, street, city, PROVINCES[province], postalCode)});
+        return id;
+    }
+
+    private void generateHome(int customerId, int addressId) {
+        int homeId = nextId(3);
+        // Most homes are recent; age follows an exponential curve capped at 120 years
+        int homeAge = (int) Math.min(120, -Math.log(1 - random.nextDouble()) * 30);
+        // Log-normal home values around a median of ~450k
+        double homeValue = Math.round(Math.exp(Math.log(450_000) + random.nextGaussian() * 0.5));
+        homes.add(new Object[]{homeId, today.minusYears(homeAge).minusDays(random.nextInt(365)), homeValue,
+                weighted(HEATING_WEIGHTS), random.nextDouble() < 0.8 ? Home.Location.URBAN.ordinal() : Home.Location.RURAL.ordinal(),
+                weighted(DWELLING_WEIGHTS), addressId, customerId});
+
+        int quoteCount = 1 + random.nextInt(3);
+        for (int i = 0; i < quoteCount; i++) {
+            LocalDate generated = today.minusDays(random.nextInt(730));
+            int liability = random.nextDouble() < 0.7 ? 1_000_000 : 2_000_000;
+            double basePremium = 500;
+            double premium = premium(basePremium + (homeValue > 250_000 ? homeValue * 0.002 : 0));
+            boolean bound = i == quoteCount - 1 && random.nextDouble() < 0.6;
+            homeQuotes.add(new Object[]{nextId(6), generated, !bound, premium, basePremium, liability, TAX_RATE, homeId, customerId});
+            if (bound) {
+                LocalDate effective = generated.plusDays(random.nextInt(14));
+                LocalDate end = effective.plusYears(1);
+                homePolicies.add(new Object[]{nextId(8), effective, end, premium, basePremium, liability, TAX_RATE,
+                        end.isAfter(today), homeId, customerId});
+            }
+        }
+    }
+
+    private void generateAuto(int customerId) {
+        int autoId = nextId(4);
+        String[] vehicle = pick(VEHICLES);
+        int vehicleAge = (int) Math.min(25, -Math.log(1 - random.nextDouble()) * 7);
+        autos.add(new Object[]{autoId, vehicle[0], vehicle[1], today.getYear() - vehicleAge, customerId});
+
+        int quoteCount = 1 + random.nextInt(3);
+        for (int i = 0; i < quoteCount; i++) {
+            LocalDate generated = today.minusDays(random.nextInt(730));
+            double basePremium = 750;
+            double premium = premium(basePremium);
+            boolean bound = i == quoteCount - 1 && random.nextDouble() < 0.65;
+            autoQuotes.add(new Object[]{nextId(7), generated, !bound, premium, basePremium, TAX_RATE, autoId, customerId});
+            if (bound) {
+                LocalDate effective = generated.plusDays(random.nextInt(14));
+                LocalDate end = effective.plusYears(1);
+                autoPolicies.add(new Object[]{nextId(9), effective, end, premium, basePremium, TAX_RATE,
+                        end.isAfter(today), autoId, customerId});
+            }
+        }
+    }
+
+    private void flush() {
+        batch("INSERT INTO address (id, unit, street, city, province, postal_code, address_hash) VALUES (?, ?, ?, ?, ?, ?, ?)", addresses);
+        batch("INSERT INTO customer (id, birthday, first_name, last_name, email, username, password, address_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", customers);
+        batch("INSERT INTO home (id, date_built, home_value, heating_type, location, type_of_dwelling, address_id, customer_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", homes);
+        batch("INSERT INTO auto (id, make, model, year, customer_id) VALUES (?, ?, ?, ?, ?)", autos);
+        batch("INSERT INTO accident (id, date, cust_id) VALUES (?, ?, ?)", accidents);
+        batch("INSERT INTO home_quote (id, generation_date, active, premium, base_premium, liability_limit, tax_rate, home_id, cust_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", homeQuotes);
+        batch("INSERT INTO auto_quote (id, generation_date, active, premium, base_premium, tax_rate, auto_id, cust_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", autoQuotes);
+        batch("INSERT INTO home_policy (id, effective_date, end_date, premium, base_premium, liability_limit, tax_rate, active, home_id, cust_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", homePolicies);
+        batch("INSERT INTO auto_policy (id, effective_date, end_date, premium, base_premium, tax_rate, active, auto_id, cust_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", autoPolicies);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private double premium(double base) {
+        double factor = 0.8 + random.nextDouble() * 0.8;
+        return Math.round(base * factor * (1 + TAX_RATE) * 100) / 100.0;
+    }
+
+    private int nextId(int table) {
+        return nextIds[table]++;
+    }
+
+    private int poisson(double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private int weighted(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.capstone.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A keyed rate limiter built from lock-free token buckets.
+ * <p>
+ * Each key has a bucket holding up to {@code capacity} tokens that refills continuously at {@code refillPerSecond}.
+ * A bucket's whole state (tokens in thousandths and the time of the last refill) is packed into one
+ * {@link AtomicLong} and updated with compare-and-set, so concurrent attempts never block each other.
+ * <p>
+ * Buckets are kept in a map bounded to {@code maxKeys}. A bucket that has been idle long enough to refill
+ * completely is indistinguishable from a new one, so it is evicted by {@link #evictIdle()}, which the owner calls
+ * on a schedule; {@link #tryAcquire} never scans the map. While the map is full, new keys share a single
+ * overflow bucket with the same capacity and rate, so flooding the map with fresh keys (for example rotating
+ * addresses) throttles those keys together instead of disabling the limit.
+ */
+public class TokenBucketLimiter {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI_TOKENS = 1000;
+
+    private final long capacityMilli;
+    private final double refillMilliPerMilli;
+    private final long fullRefillMillis;
+    private final int maxKeys;
+    private final long epoch = System.currentTimeMillis();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflowBucket;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+
+    /**
+     * Creates a limiter.
+     * @param capacity        The burst size, in attempts; at most 4,000.
+     * @param refillPerSecond The sustained rate, in attempts per second.
+     * @param maxKeys         The maximum number of keys tracked at once.
+     */
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity < 1 || capacity * MILLI_TOKENS > TOKEN_MASK) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + TOKEN_MASK / MILLI_TOKENS);
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("refillPerSecond must be positive");
+        }
+        this.capacityMilli = capacity * MILLI_TOKENS;
+        this.refillMilliPerMilli = refillPerSecond;
+        this.fullRefillMillis = (long) Math.ceil(capacity * 1000 / refillPerSecond);
+        this.maxKeys = maxKeys;
+        this.overflowBucket = new AtomicLong(pack(0, capacityMilli));
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     * @param key The key, for example a username or client address.
+     * @return Zero if the attempt is allowed, otherwise the number of milliseconds until a token is available.
+     */
+    public long tryAcquire(String key) {
+        long now = System.currentTimeMillis() - epoch;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                overflow.increment();
+                return take(overflowBucket, now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacityMilli)));
+        }
+        return take(bucket, now);
+    }
+
+    /**
+     * Removes buckets that have been idle long enough to refill completely. Only one caller sweeps at a time.
+     */
+    public void evictIdle() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis() - epoch;
+            buckets.values().removeIf(bucket -> now - lastRefill(bucket.get()) >= fullRefillMillis);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Describes the limiter for telemetry.
+     * @return The number of tracked keys and the allowed, rejected and overflow counts.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("trackedKeys", buckets.size());
+        snapshot.put("maxKeys", maxKeys);
+        snapshot.put("allowed", allowed.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("overflow", overflow.sum());
+        return snapshot;
+    }
+
+    private long take(AtomicLong bucket, long now) {
+        while (true) {
+            long state = bucket.get();
+            long tokens = refilled(state, now);
+            if (tokens < MILLI_TOKENS) {
+                rejected.increment();
+                return (long) Math.ceil((MILLI_TOKENS - tokens) / refillMilliPerMilli);
+            }
+            if (bucket.compareAndSet(state, pack(Math.max(now, lastRefill(state)), tokens - MILLI_TOKENS))) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    private long refilled(long state, long now) {
+        long elapsed = Math.max(0, now - lastRefill(state));
+        long tokens = (state & TOKEN_MASK) + (long) (elapsed * refillMilliPerMilli);
+        return Math.min(capacityMilli, tokens);
+    }
+
+    private static long lastRefill(long state) {
+        return state >>> TOKEN_BITS;
+    }
+
+    private static long pack(long refillTime, long tokensMilli) {
+        return (refillTime << TOKEN_BITS) | tokensMilli;
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.capstone.telemetry;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-demand diagnostics for the admin endpoints, built only on the JDK's own JFR and management APIs:
+ * time-boxed flight recordings, class histograms and thread dumps.
+ * <p>
+ * Each kind is limited to {@code capstone.diagnostics.max-concurrent} at a time (one by default); further requests
+ * fail fast with {@link DiagnosticsBusyException}. Recordings use the JDK {@code profile} settings plus the
+ * application's events from {@code jfr/capstone.jfc}, without the events that capture environment variables,
+ * system properties and JVM arguments. Only the latest recording file is kept.
+ * <p>
+ * Diagnostics are only ever enabled together with {@code capstone.session.enforce-admin}: setting
+ * {@code capstone.diagnostics.enabled} without it is refused with a warning at startup.
+ */
+@Component
+public class Diagnostics {
+
+    private static final Logger log = LoggerFactory.getLogger(Diagnostics.class);
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+    private static final int MAX_HISTOGRAM_CLASSES = 1000;
+    private static final int MAX_STACK_DEPTH = 256;
+
+    @Autowired @Qualifier("applicationTaskExecutor") private Executor taskExecutor;
+
+    @Value("${capstone.diagnostics.max-recording-seconds:120}")
+    private int maxRecordingSeconds;
+
+    private final boolean enabled;
+    private final Semaphore recordings;
+    private final Semaphore histograms;
+    private final Semaphore threadDumps;
+    private Path latestRecording;
+
+    public Diagnostics(@Value("${capstone.diagnostics.enabled:false}") boolean enabled,
+                       @Value("${capstone.session.enforce-admin:false}") boolean enforceAdmin,
+                       @Value("${capstone.diagnostics.max-concurrent:1}") int maxConcurrent) {
+        if (enabled && !enforceAdmin) {
+            log.warn("capstone.diagnostics.enabled is ignored because capstone.session.enforce-admin is not set");
+        }
+        this.enabled = enabled && enforceAdmin;
+        this.recordings = new Semaphore(maxConcurrent);
+        this.histograms = new Semaphore(maxConcurrent);
+        this.threadDumps = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @return True if diagnostics are enabled and admin sessions are enforced.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The longest recording that can be requested.
+     */
+    public Duration getMaxRecordingDuration() {
+        return Duration.ofSeconds(maxRecordingSeconds);
+    }
+
+    /**
+     * Starts a flight recording that stops by itself after the given duration. The calling thread does not wait.
+     * @param duration How long to record; capped at {@code capstone.diagnostics.max-recording-seconds}.
+     * @return The recording file, once the recording has stopped. It stays on disk until the next recording completes.
+     * @throws DiagnosticsBusyException If too many recordings are already running.
+     */
+    public CompletableFuture<Path> record(Duration duration) {
+        if (!recordings.tryAcquire()) {
+            throw new DiagnosticsBusyException("flight recording");
+        }
+        long seconds = Math.max(1, Math.min(duration.toSeconds(), maxRecordingSeconds));
+        Recording recording = null;
+        Path file = null;
+        try {
+            file = Files.createTempFile("capstone-", ".jfr");
+            recording = new Recording(recordingSettings());
+            recording.setName("capstone-diagnostics");
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException | ParseException | RuntimeException e) {
+            if (recording != null) {
+                recording.close();
+            }
+            deleteQuietly(file);
+            recordings.release();
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException("Could not start recording", e);
+        }
+
+        Recording started = recording;
+        Path destination = file;
+        return CompletableFuture.supplyAsync(() -> {
+                    started.stop(); // writes the destination file
+                    return destination;
+                }, CompletableFuture.delayedExecutor(seconds, TimeUnit.SECONDS, taskExecutor))
+                .whenComplete((result, error) -> {
+                    started.close();
+                    if (error == null) {
+                        replaceLatestRecording(destination);
+                    } else {
+                        log.warn("Flight recording failed", error);
+                        deleteQuietly(destination);
+                    }
+                    recordings.release();
+                });
+    }
+
+    /**
+     * Takes a class histogram through the {@code GC.class_histogram} diagnostic command.
+     * @param limit Number of classes to return, largest first; clamped to between 1 and 1,000.
+     * @param live  True to count only reachable objects, which forces a full GC first. Otherwise every object
+     *              on the heap is counted, including garbage, and no collection is triggered.
+     * @return The heap totals and the top classes by size.
+     * @throws DiagnosticsBusyException If too many histograms are already being taken.
+     */
+    public Map<String, Object> classHistogram(int limit, boolean live) {
+        if (!histograms.tryAcquire()) {
+            throw new DiagnosticsBusyException("class histogram");
+        }
+        try {
+            String[] arguments = live ? new String[0] : new String[]{"-all"};
+            String output = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName(DIAGNOSTIC_COMMAND), "gcClassHistogram",
+                    new Object[]{arguments}, new String[]{String[].class.getName()});
+            return parseHistogram(output, Math.min(Math.max(1, limit), MAX_HISTOGRAM_CLASSES), live);
+        } catch (JMException e) {
+            throw new IllegalStateException("Class histogram is not available", e);
+        } finally {
+            histograms.release();
+        }
+    }
+
+    /**
+     * Dumps the stacks of all platform threads. Virtual threads are not included by the JDK's ThreadMXBean.
+     * @param depth Maximum stack frames per thread; clamped to between 1 and 256.
+     * @return Thread counts by state, deadlocked thread IDs and every thread with its stack.
+     * @throws DiagnosticsBusyException If too many thread dumps are already being taken.
+     */
+    public Map<String, Object> threadDump(int depth) {
+        if (!threadDumps.tryAcquire()) {
+            throw new DiagnosticsBusyException("thread dump");
+        }
+        try {
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            ThreadInfo[] threads = threadBean.dumpAllThreads(false, false, Math.min(Math.max(1, depth), MAX_STACK_DEPTH));
+            Map<Thread.State, Integer> states = new EnumMap<>(Thread.State.class);
+            List<Map<String, Object>> details = new ArrayList<>(threads.length);
+            for (ThreadInfo thread : threads) {
+                if (thread == null) {
+                    continue;
+                }
+                states.merge(thread.getThreadState(), 1, Integer::sum);
+                details.add(describe(thread));
+            }
+            long[] deadlocked = threadBean.findDeadlockedThreads();
+
+            Map<String, Object> dump = new LinkedHashMap<>();
+            dump.put("threadCount", details.size());
+            dump.put("states", states);
+            dump.put("deadlocked", deadlocked == null ? new long[0] : deadlocked);
+            dump.put("threads", details);
+            return dump;
+        } finally {
+            threadDumps.release();
+        }
+    }
+
+    /**
+     * Deletes the retained recording when the application shuts down.
+     */
+    @PreDestroy
+    public synchronized void deleteLatestRecording() {
+        deleteQuietly(latestRecording);
+        latestRecording = null;
+    }
+
+    private synchronized void replaceLatestRecording(Path recording) {
+        if (latestRecording != null && !latestRecording.equals(recording)) {
+            deleteQuietly(latestRecording);
+        }
+        latestRecording = recording;
+    }
+
+    private static Map<String, String> recordingSettings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("profile").getSettings());
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource("jfr/capstone.jfc").getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        // These can contain credentials passed on the command line or in the environment
+        settings.put("jdk.InitialEnvironmentVariable#enabled", "false");
+        settings.put("jdk.InitialSystemProperty#enabled", "false");
+        settings.put("jdk.JVMInformation#enabled", "false");
+        return settings;
+    }
+
+    /**
+     * Parses the text table printed by {@code GC.class_histogram}:
+     * <pre>
+     *  num     #instances         #bytes  class name (module)
+     * -------------------------------------------------------
+     *    1:         40365        3229840  [B (java.base@21)
+     * Total        123456       12345678
+     * </pre>
+     */
+    private static Map<String, Object> parseHistogram(String output, int limit, boolean live) {
+        List<Map<String, Object>> classes = new ArrayList<>(limit);
+        long totalInstances = 0;
+        long totalBytes = 0;
+        for (String line : output.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("Total")) {
+                String[] columns = trimmed.split("\\s+");
+                totalInstances = Long.parseLong(columns[1]);
+                totalBytes = Long.parseLong(columns[2]);
+            } else if (classes.size() < limit && !trimmed.isEmpty() && Character.isDigit(trimmed.charAt(0))) {
+                String[] columns = trimmed.split("\\s+", 4);
+                if (columns.length < 4) {
+                    continue;
+                }
+                String name = columns[3];
+                String module = null;
+                int moduleStart = name.indexOf(" (");
+                if (moduleStart > 0 && name.endsWith(")")) {
+                    module = name.substring(moduleStart + 2, name.length() - 1);
+                    name = name.substring(0, moduleStart);
+                }
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("className", name);
+                entry.put("module", module);
+                entry.put("instances", Long.parseLong(columns[1]));
+                entry.put("bytes", Long.parseLong(columns[2]));
+                classes.add(entry);
+            }
+        }
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        histogram.put("liveOnly", live);
+        histogram.put("totalInstances", totalInstances);
+        histogram.put("totalBytes", totalBytes);
+        histogram.put("classes", classes);
+        return histogram;
+    }
+
+    private static Map<String, Object> describe(ThreadInfo thread) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("name", thread.getThreadName());
+        details.put("id", thread.getThreadId());
+        details.put("state", thread.getThreadState());
+        details.put("daemon", thread.isDaemon());
+        details.put("blockedCount", thread.getBlockedCount());
+        details.put("waitedCount", thread.getWaitedCount());
+        details.put("lock", thread.getLockName());
+        details.put("lockOwner", thread.getLockOwnerName());
+        List<String> stack = new ArrayList<>(thread.getStackTrace().length);
+        for (StackTraceElement frame : thread.getStackTrace()) {
+            stack.add(frame.toString());
+        }
+        details.put("stack", stack);
+        return details;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.capstone.telemetry;
+
+/**
+ * Thrown when a diagnostic is requested while the maximum number of the same kind is already running.
+ * Mapped to {@code 429 Too Many Requests} with a {@code Retry-After} header.
+ */
+public class DiagnosticsBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     * @param diagnostic The kind of diagnostic that was requested.
+     */
+    public DiagnosticsBusyException(String diagnostic) {
+        super("A " + diagnostic + " is already running.");
+    }
+}
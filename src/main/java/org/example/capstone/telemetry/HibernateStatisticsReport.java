@@ -0,0 +1,82 @@
+package org.example.capstone.telemetry;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a report from Hibernate's statistics: totals for the session factory and, for each HQL/JPQL query
+ * (derived repository queries included), its execution count, rows, mean and max time and query cache hit ratio.
+ * <p>
+ * Statistics are only collected while {@code capstone.hibernate.statistics.enabled} is true.
+ */
+@Component
+public class HibernateStatisticsReport {
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Builds the report. Queries are ordered by total execution time, slowest first.
+     * @return The session factory totals and per-query statistics, or only {@code enabled: false}.
+     */
+    public Map<String, Object> snapshot() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return snapshot;
+        }
+        snapshot.put("since", statistics.getStart());
+        snapshot.put("sessionsOpened", statistics.getSessionOpenCount());
+        snapshot.put("transactions", statistics.getTransactionCount());
+        snapshot.put("statementsPrepared", statistics.getPrepareStatementCount());
+        snapshot.put("statementsPerSession", ratio(statistics.getPrepareStatementCount(), statistics.getSessionOpenCount()));
+        snapshot.put("entitiesLoaded", statistics.getEntityLoadCount());
+        snapshot.put("entitiesFetched", statistics.getEntityFetchCount());
+        snapshot.put("collectionsFetched", statistics.getCollectionFetchCount());
+        snapshot.put("secondLevelCacheHitRatio", ratio(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheHitCount() + statistics.getSecondLevelCacheMissCount()));
+        snapshot.put("queryCacheHitRatio", ratio(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount()));
+        snapshot.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics stats = statistics.getQueryStatistics(query);
+            long executions = stats.getExecutionCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("query", query);
+            entry.put("executions", executions);
+            entry.put("rows", stats.getExecutionRowCount());
+            entry.put("totalMs", stats.getExecutionTotalTime());
+            entry.put("meanMs", stats.getExecutionAvgTimeAsDouble());
+            entry.put("maxMs", stats.getExecutionMaxTime());
+            entry.put("cacheHitRatio", ratio(stats.getCacheHitCount(), stats.getCacheHitCount() + stats.getCacheMissCount()));
+            queries.add(entry);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> entry) -> (Long) entry.get("totalMs")).reversed());
+        snapshot.put("queries", queries);
+        return snapshot;
+    }
+
+    /**
+     * Clears the collected statistics, so the next report only covers what runs after this call.
+     */
+    public void reset() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+}
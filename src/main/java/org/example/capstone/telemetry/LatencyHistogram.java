@@ -0,0 +1,130 @@
+package org.example.capstone.telemetry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed-bucket latency histogram.
+ * <p>
+ * Recording a sample is a handful of {@link LongAdder} increments, so it is cheap enough to call on every
+ * connection checkout or password hash. Besides the bucket counts it keeps an exponentially weighted moving
+ * average of recent samples, which is what load-shedding decisions are based on.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Upper bounds of the buckets, in microseconds. Samples above the last bound go into an overflow bucket.
+     */
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000
+    };
+
+    /**
+     * A sample older than this no longer counts towards the recent average.
+     */
+    private static final long RECENT_WINDOW_NANOS = 5_000_000_000L;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong recentAverageNanos = new AtomicLong();
+    private final AtomicLong lastSampleAt = new AtomicLong();
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one sample.
+     * @param nanos The measured duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        long micros = nanos / 1_000;
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        // EWMA with alpha = 1/8
+        recentAverageNanos.accumulateAndGet(nanos, (average, sample) -> average + (sample - average) / 8);
+        lastSampleAt.set(System.nanoTime());
+    }
+
+    /**
+     * Gets the moving average of recent samples. Returns zero when nothing was recorded for a few seconds,
+     * so an idle (or fully shed) pool does not keep reporting a stale latency.
+     * @return The recent average in milliseconds.
+     */
+    public double getRecentAverageMillis() {
+        long last = lastSampleAt.get();
+        if (last == 0 || System.nanoTime() - last > RECENT_WINDOW_NANOS) {
+            return 0;
+        }
+        return recentAverageNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of recorded samples.
+     * @return The sample count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Builds a JSON friendly summary: count, mean, max, recent average, approximate percentiles
+     * (bucket upper bounds) and the per-bucket counts keyed by their upper bound in milliseconds.
+     * @return The histogram summary.
+     */
+    public Map<String, Object> snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", total);
+        snapshot.put("meanMs", total == 0 ? 0 : totalNanos.sum() / (double) total / 1_000_000.0);
+        snapshot.put("maxMs", maxNanos.get() / 1_000_000.0);
+        snapshot.put("recentAverageMs", getRecentAverageMillis());
+        snapshot.put("p50Ms", percentile(counts, total, 0.50));
+        snapshot.put("p95Ms", percentile(counts, total, 0.95));
+        snapshot.put("p99Ms", percentile(counts, total, 0.99));
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            String label = i < BUCKET_BOUNDS_MICROS.length ? "le_" + BUCKET_BOUNDS_MICROS[i] / 1_000.0 + "ms" : "overflow";
+            histogram.put(label, counts[i]);
+        }
+        snapshot.put("buckets", histogram);
+        return snapshot;
+    }
+
+    private double percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BUCKET_BOUNDS_MICROS[i] / 1_000.0;
+            }
+        }
+        return maxNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.capstone.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one password hash or verification by a {@link org.example.capstone.services.PasswordHasher}.
+ * Disabled unless a recording uses the {@code capstone.jfc} settings.
+ */
+@Name("capstone.PasswordHash")
+@Label("Password Hash")
+@Category({"Capstone", "Security"})
+@Description("Password hashing or verification")
+@Enabled(false)
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Algorithm")
+    @Description("jasypt or pbkdf2-sha256")
+    public String algorithm;
+
+    @Label("Operation")
+    @Description("hash or verify")
+    public String operation;
+
+    @Label("Iterations")
+    public int iterations;
+}
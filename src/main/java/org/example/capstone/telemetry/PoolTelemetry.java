@@ -0,0 +1,183 @@
+package org.example.capstone.telemetry;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects telemetry for the two resources a request waits on: the HikariCP connection pool and the
+ * Tomcat request thread pool.
+ * <p>
+ * Hikari reports into this class through the {@link MetricsTrackerFactory} hook (wired up in
+ * {@link org.example.capstone.config.ConnectionPoolConfig}), which gives live active/idle/pending counts
+ * and a connection acquire-time histogram without polling JMX. Hikari takes only one tracker factory, and
+ * Spring Boot skips its own Micrometer binding when one is already set, so every checkout is also forwarded
+ * to a {@link MicrometerMetricsTrackerFactory} tracker to keep the {@code hikaricp.*} meters. The Tomcat
+ * executor is captured once the embedded server has started.
+ */
+@Component
+public class PoolTelemetry implements MetricsTrackerFactory {
+
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LongAdder connectionTimeouts = new LongAdder();
+    private final LongAdder shedRequests = new LongAdder();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile String poolName;
+    private volatile PoolStats poolStats;
+    private volatile Executor requestExecutor;
+
+    /**
+     * Creates the collector.
+     * @param meterRegistry Provider for the Micrometer registry the {@code hikaricp.*} meters go to, if any.
+     */
+    public PoolTelemetry(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Called by Hikari when the pool starts; returns the tracker Hikari reports every checkout to.
+     * @param poolName  The name of the pool.
+     * @param poolStats Live pool statistics maintained by Hikari.
+     * @return The tracker for this pool.
+     */
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        IMetricsTracker micrometer = registry == null
+                ? new IMetricsTracker() { }
+                : new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireTime.record(elapsedAcquiredNanos);
+                micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageTime.record(elapsedBorrowedMillis * 1_000_000);
+                micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                connectionTimeouts.increment();
+                micrometer.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                micrometer.close();
+            }
+        };
+    }
+
+    /**
+     * Captures the request executor of the main Tomcat connector once the server is up.
+     * @param event The server initialized event.
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null
+                && event.getWebServer() instanceof TomcatWebServer tomcatWebServer) {
+            Connector connector = tomcatWebServer.getTomcat().getConnector();
+            requestExecutor = connector.getProtocolHandler().getExecutor();
+        }
+    }
+
+    /**
+     * Gets the number of threads currently waiting for a connection.
+     * @return The pending thread count, or zero before the pool has started.
+     */
+    public int getPendingConnectionRequests() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    /**
+     * Gets the recent average time to acquire a connection from the pool.
+     * @return The recent average acquire time in milliseconds.
+     */
+    public double getRecentAcquireMillis() {
+        return acquireTime.getRecentAverageMillis();
+    }
+
+    /**
+     * Gets the number of requests queued for a Tomcat worker thread.
+     * @return The queue depth, or zero when the executor has no queue (e.g. virtual threads).
+     */
+    public int getRequestQueueDepth() {
+        if (requestExecutor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor executor) {
+            return executor.getQueue().size();
+        }
+        return 0;
+    }
+
+    /**
+     * Counts a request rejected by the admission filter.
+     */
+    public void recordShedRequest() {
+        shedRequests.increment();
+    }
+
+    /**
+     * Builds the connection pool section of the telemetry report.
+     * @return Pool gauges plus acquire and usage time histograms.
+     */
+    public Map<String, Object> connectionPoolSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        PoolStats stats = poolStats;
+        snapshot.put("poolName", poolName);
+        if (stats != null) {
+            snapshot.put("active", stats.getActiveConnections());
+            snapshot.put("idle", stats.getIdleConnections());
+            snapshot.put("pending", stats.getPendingThreads());
+            snapshot.put("total", stats.getTotalConnections());
+            snapshot.put("max", stats.getMaxConnections());
+        }
+        snapshot.put("timeouts", connectionTimeouts.sum());
+        snapshot.put("acquireTime", acquireTime.snapshot());
+        snapshot.put("usageTime", usageTime.snapshot());
+        return snapshot;
+    }
+
+    /**
+     * Builds the request thread pool section of the telemetry report.
+     * @return Tomcat worker thread gauges and the number of shed requests.
+     */
+    public Map<String, Object> requestThreadsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        if (requestExecutor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor executor) {
+            snapshot.put("active", executor.getActiveCount());
+            snapshot.put("poolSize", executor.getPoolSize());
+            snapshot.put("max", executor.getMaximumPoolSize());
+            snapshot.put("queued", executor.getQueue().size());
+        } else if (requestExecutor != null) {
+            snapshot.put("executor", requestExecutor.getClass().getSimpleName());
+        }
+        snapshot.put("shedRequests", shedRequests.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.capstone.telemetry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters for the quoting and binding flow, published alongside the HTTP and repository metrics on
+ * the Prometheus endpoint.
+ * <ul>
+ *     <li>{@code capstone.quote.lookup} - time to load a quote's pricing inputs, by {@code type} (home, auto)</li>
+ *     <li>{@code capstone.quote.lookup.timeouts} - lookups that missed the deadline, by {@code type}</li>
+ *     <li>{@code capstone.quote.pricing} - time to price a quote once its inputs are loaded, by {@code type}</li>
+ *     <li>{@code capstone.quotes.created} - quotes saved, by {@code type}</li>
+ *     <li>{@code capstone.policies.bound} - policies created from a quote, by {@code type}</li>
+ * </ul>
+ */
+@Component
+public class QuoteMetrics {
+
+    public static final String HOME = "home";
+    public static final String AUTO = "auto";
+
+    private final Timer homeLookup;
+    private final Timer autoLookup;
+    private final Counter homeLookupTimeouts;
+    private final Counter autoLookupTimeouts;
+    private final Timer homePricing;
+    private final Timer autoPricing;
+    private final Counter homeQuotesCreated;
+    private final Counter autoQuotesCreated;
+    private final Counter homePoliciesBound;
+    private final Counter autoPoliciesBound;
+
+    public QuoteMetrics(MeterRegistry registry) {
+        this.homeLookup = timer(registry, "capstone.quote.lookup", HOME, "Time to load the pricing inputs of a quote");
+        this.autoLookup = timer(registry, "capstone.quote.lookup", AUTO, "Time to load the pricing inputs of a quote");
+        this.homeLookupTimeouts = counter(registry, "capstone.quote.lookup.timeouts", HOME, "Quote lookups that missed the deadline");
+        this.autoLookupTimeouts = counter(registry, "capstone.quote.lookup.timeouts", AUTO, "Quote lookups that missed the deadline");
+        this.homePricing = timer(registry, "capstone.quote.pricing", HOME, "Time to price a quote from its inputs");
+        this.autoPricing = timer(registry, "capstone.quote.pricing", AUTO, "Time to price a quote from its inputs");
+        this.homeQuotesCreated = counter(registry, "capstone.quotes.created", HOME, "Quotes saved");
+        this.autoQuotesCreated = counter(registry, "capstone.quotes.created", AUTO, "Quotes saved");
+        this.homePoliciesBound = counter(registry, "capstone.policies.bound", HOME, "Policies created from a quote");
+        this.autoPoliciesBound = counter(registry, "capstone.policies.bound", AUTO, "Policies created from a quote");
+    }
+
+    public Timer lookupTimer(String type) {
+        return HOME.equals(type) ? homeLookup : autoLookup;
+    }
+
+    public Counter lookupTimeouts(String type) {
+        return HOME.equals(type) ? homeLookupTimeouts : autoLookupTimeouts;
+    }
+
+    public Timer pricingTimer(String type) {
+        return HOME.equals(type) ? homePricing : autoPricing;
+    }
+
+    public void quoteCreated(String type) {
+        (HOME.equals(type) ? homeQuotesCreated : autoQuotesCreated).increment();
+    }
+
+    public void policyBound(String type) {
+        (HOME.equals(type) ? homePoliciesBound : autoPoliciesBound).increment();
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String type, String description) {
+        return Timer.builder(name)
+                .tag("type", type)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String type, String description) {
+        return Counter.builder(name)
+                .tag("type", type)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.capstone.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the premium computation of a quote, after its inputs are loaded and before it is saved.
+ * Disabled unless a recording uses the {@code capstone.jfc} settings.
+ */
+@Name("capstone.QuotePricing")
+@Label("Quote Pricing")
+@Category({"Capstone", "Quotes"})
+@Description("Premium computation for a home or auto quote")
+@Enabled(false)
+@StackTrace(false)
+public class QuotePricingEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("The quote endpoint, home_quote or auto_quote")
+    public String endpoint;
+
+    @Label("Risk Factor Version")
+    public long riskFactorVersion;
+
+    @Label("Premium")
+    public double premium;
+}
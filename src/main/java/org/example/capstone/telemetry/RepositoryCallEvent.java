@@ -0,0 +1,38 @@
+package org.example.capstone.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one Spring Data repository method call, emitted by {@link RepositoryEventPostProcessor}.
+ * Disabled unless a recording uses the {@code capstone.jfc} settings.
+ */
+@Name("capstone.RepositoryCall")
+@Label("Repository Call")
+@Category({"Capstone", "Data Access"})
+@Description("A Spring Data repository method invocation")
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Row Count")
+    @Description("Rows returned, or -1 if the result is not a collection, Optional or entity")
+    public int rowCount;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,81 @@
+package org.example.capstone.telemetry;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Adds an interceptor to every Spring Data repository that wraps each method call in a {@link RepositoryCallEvent}.
+ * <p>
+ * While the event is disabled the interceptor only checks {@link RepositoryCallEvent#isEnabled()} and proceeds,
+ * so the cost outside a {@code capstone.jfc} recording is one allocation the JIT can remove.
+ */
+@Component
+public class RepositoryEventPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(new EventInterceptor(
+                            information.getRepositoryInterface().getSimpleName(),
+                            information.getDomainType()))));
+        }
+        return bean;
+    }
+
+    private static final class EventInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final Class<?> domainType;
+
+        private EventInterceptor(String repository, Class<?> domainType) {
+            this.repository = repository;
+            this.domainType = domainType;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.entity = domainType.getSimpleName();
+                    event.rowCount = failed ? -1 : rowCount(result);
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }
+
+        private int rowCount(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> rows) {
+                return rows.size();
+            }
+            if (result instanceof Optional<?> row) {
+                return row.isPresent() ? 1 : 0;
+            }
+            return domainType.isInstance(result) ? 1 : -1;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.capstone.telemetry;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collects where a sampled request spent its time: JDBC statements (count and execution time), quote pricing,
+ * password hashing and response serialization. Rendered as a {@code Server-Timing} header.
+ * <p>
+ * The collector for the current request is bound to the thread handling it. Work handed to other threads only
+ * counts if the task is wrapped with {@link #propagate(Supplier)} (or the task executor's decorator), or records
+ * into a collector captured with {@link #current()}. On threads without a collector every record method is a
+ * no-op, so unsampled requests pay one thread-local read per call.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAdder pricingNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder serializationNanos = new LongAdder();
+
+    /**
+     * @return The collector bound to this thread, or null if the request is not sampled.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a collector to this thread.
+     * @param timing The collector, or null to unbind.
+     * @return The collector that was bound before, to restore afterwards.
+     */
+    public static RequestTiming bind(RequestTiming timing) {
+        RequestTiming previous = CURRENT.get();
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+        return previous;
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's collector bound, if there is one.
+     * @param task The task.
+     * @return The wrapped task, or the task itself if the caller is not sampled.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            RequestTiming previous = bind(timing);
+            try {
+                return task.get();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Runnable counterpart of {@link #propagate(Supplier)}.
+     * @param task The task.
+     * @return The wrapped task, or the task itself if the caller is not sampled.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            RequestTiming previous = bind(timing);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    public static void recordStatement(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.statements.increment();
+            timing.statementNanos.add(nanos);
+        }
+    }
+
+    public static void recordPricing(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.pricingNanos.add(nanos);
+        }
+    }
+
+    public static void recordSerialization(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.serializationNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Records hashing time. Called on the hashing pool, so it takes the collector captured on the request thread.
+     * @param nanos The time spent hashing.
+     */
+    public void recordHash(long nanos) {
+        hashNanos.add(nanos);
+    }
+
+    /**
+     * Renders the collected times, in milliseconds, as a Server-Timing header value, for example
+     * {@code db;dur=12.40;desc="5 statements", hash;dur=201.77, ser;dur=0.83, total;dur=219.02}.
+     * Pricing, hashing and serialization are left out if nothing was recorded for them.
+     * @return The header value.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(128);
+        append(header, "db", statementNanos.sum());
+        header.append(";desc=\"").append(statements.sum()).append(" statements\"");
+        appendIfRecorded(header, "pricing", pricingNanos.sum());
+        appendIfRecorded(header, "hash", hashNanos.sum());
+        appendIfRecorded(header, "ser", serializationNanos.sum());
+        header.append(", ");
+        append(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void appendIfRecorded(StringBuilder header, String metric, long nanos) {
+        if (nanos > 0) {
+            header.append(", ");
+            append(header, metric, nanos);
+        }
+    }
+
+    private static void append(StringBuilder header, String metric, long nanos) {
+        header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.capstone.telemetry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the connection pool so that every statement taking longer than a threshold is logged as a warning,
+ * together with the shape of its bind parameters: the type set at each position, never the value.
+ * Every statement's execution time is also added to the {@link RequestTiming} of a sampled request.
+ * When slow statement logging is off, only connections taken on a sampled request's thread are wrapped;
+ * every other caller gets the pool's connection as is.
+ * <p>
+ * {@code unwrap} still reaches the pool, so Hikari metrics and health checks see the real data source.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryDataSource.class);
+
+    private final long thresholdNanos;
+    private final boolean logging;
+
+    /**
+     * @param target          The data source to wrap.
+     * @param thresholdMillis Statements running at least this long are logged; 0 to only time statements.
+     */
+    public SlowQueryDataSource(DataSource target, long thresholdMillis) {
+        super(target);
+        this.thresholdNanos = thresholdMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(thresholdMillis) : Long.MAX_VALUE;
+        this.logging = thresholdMillis > 0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        if (!logging && RequestTiming.current() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private String[] parameters = new String[8];
+        private int parameterCount;
+        private int batchSize;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordParameter(index, name, args[1]);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, 0, parameterCount, null);
+                parameterCount = 0;
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return SlowQueryDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                RequestTiming.recordStatement(elapsed);
+                if (elapsed >= thresholdNanos) {
+                    String statement = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                    log.warn("Slow statement took {} ms{}: {} parameters {}",
+                            TimeUnit.NANOSECONDS.toMillis(elapsed),
+                            batchSize > 0 ? " (batch of " + batchSize + ")" : "",
+                            statement, parameterShape());
+                }
+                if (method.getName().contains("Batch")) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        /**
+         * Records the type bound at a position. Stores the setter name (or the value's class for setObject)
+         * and only turns it into text if the statement turns out to be slow.
+         */
+        private void recordParameter(int index, String setter, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            String shape;
+            if (setter.equals("setNull") || value == null) {
+                shape = "null";
+            } else if (setter.equals("setObject")) {
+                shape = value.getClass().getSimpleName();
+            } else {
+                shape = setter;
+            }
+            parameters[index - 1] = shape;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private String parameterShape() {
+            StringBuilder shape = new StringBuilder("[");
+            for (int i = 0; i < parameterCount; i++) {
+                if (i > 0) {
+                    shape.append(", ");
+                }
+                String parameter = parameters[i];
+                if (parameter == null) {
+                    shape.append('?');
+                } else if (parameter.startsWith("set")) {
+                    shape.append(parameter, 3, parameter.length());
+                } else {
+                    shape.append(parameter);
+                }
+            }
+            return shape.append(']').toString();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.capstone.telemetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads that pin their carrier thread, e.g. by blocking on JDBC I/O inside a
+ * {@code synchronized} block in the MariaDB driver or Hibernate.
+ * <p>
+ * An in-process JFR {@link RecordingStream} listens for {@code jdk.VirtualThreadPinned} events longer than
+ * {@code capstone.pinning-monitor.threshold-ms}. Each event is counted against the first stack frame outside the
+ * JDK, which names the library code holding the monitor, and its duration goes into a histogram and the
+ * {@code capstone.virtual-threads.pinned} Micrometer timer. Enabled by default whenever
+ * {@code spring.threads.virtual.enabled} is set.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_TRACKED_FRAMES = 100;
+    private static final String OTHER_FRAMES = "(other)";
+
+    @Value("${capstone.pinning-monitor.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean enabled;
+
+    @Value("${capstone.pinning-monitor.threshold-ms:20}")
+    private long thresholdMillis;
+
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final LatencyHistogram pinnedTime = new LatencyHistogram();
+    private final Map<String, LongAdder> pinnedByFrame = new ConcurrentHashMap<>();
+    private volatile Timer pinnedTimer;
+    private volatile RecordingStream stream;
+
+    /**
+     * Starts listening for pinning events when the monitor is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        pinnedTimer = Timer.builder("capstone.virtual-threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier, above the monitor threshold")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+        } catch (RuntimeException e) {
+            // JFR can be unavailable or disabled on some runtimes; pinning is then simply not reported
+            log.warn("Virtual thread pinning monitor could not start: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the JFR stream when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Builds the pinning section of the telemetry report.
+     * @return Whether the monitor runs, the pinned-time histogram and the ten frames that pinned most often.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", stream != null);
+        snapshot.put("thresholdMs", thresholdMillis);
+        snapshot.put("pinnedTime", pinnedTime.snapshot());
+        Map<String, Long> topFrames = new LinkedHashMap<>();
+        pinnedByFrame.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(10)
+                .forEach(entry -> topFrames.put(entry.getKey(), entry.getValue().sum()));
+        snapshot.put("topFrames", topFrames);
+        return snapshot;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinnedTime.record(nanos);
+        pinnedTimer.record(nanos, TimeUnit.NANOSECONDS);
+        String frame = culpritFrame(event.getStackTrace());
+        LongAdder counter = pinnedByFrame.get(frame);
+        if (counter == null) {
+            frame = pinnedByFrame.size() < MAX_TRACKED_FRAMES ? frame : OTHER_FRAMES;
+            counter = pinnedByFrame.computeIfAbsent(frame, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private static String culpritFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(no stack trace)";
+        }
+        RecordedFrame first = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (first == null) {
+                first = frame;
+            }
+            String className = frame.getMethod().getType().getName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return className + "." + frame.getMethod().getName();
+            }
+        }
+        return first == null ? "(unknown)" : first.getMethod().getType().getName() + "." + first.getMethod().getName();
+    }
+}
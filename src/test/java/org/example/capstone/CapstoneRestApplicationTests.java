@@ -2,8 +2,10 @@ package org.example.capstone;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+@SpringBootTest(properties = "capstone.perf.customers=200")
+@ActiveProfiles("perf")
 class CapstoneRestApplicationTests {
 
     @Test
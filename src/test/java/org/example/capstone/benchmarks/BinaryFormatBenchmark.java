@@ -0,0 +1,102 @@
+package org.example.capstone.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.example.capstone.controllers.ApiResponse;
+import org.example.capstone.pojos.HomeQuote;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encode time and payload size of the home quote list response in JSON, CBOR and Smile, using the
+ * application's mapper setup (Blackbird, ISO dates) over each factory. The payload size is reported as the
+ * {@code payloadBytes} secondary result. See the Benchmarks section of the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BinaryFormatBenchmark {
+
+    /**
+     * The wire format: {@code json}, {@code cbor} or {@code smile}.
+     */
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    /**
+     * The number of quotes in the response.
+     */
+    @Param({"1", "25", "500"})
+    public int quotes;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<HomeQuote>> response;
+
+    /**
+     * Reports the encoded size alongside the timing.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException(format);
+        };
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build();
+        writer = mapper.writerFor(ApiResponse.class);
+        response = QuotePayloads.homeQuotesResponse(quotes);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws Exception {
+        byte[] encoded = writer.writeValueAsBytes(response);
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BinaryFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
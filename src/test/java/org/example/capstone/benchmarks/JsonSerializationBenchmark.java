@@ -0,0 +1,83 @@
+package org.example.capstone.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.example.capstone.controllers.ApiResponse;
+import org.example.capstone.pojos.HomeQuote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of a customer's home quotes (each with its home, customer and address) as returned by
+ * {@code GET /v1/home_quotes/customers/{id}}, with the ObjectMapper configured as the application does.
+ * Compares reflective property access against Blackbird, and thread-local against shared buffer recycling,
+ * across payload sizes. See the Benchmarks section of the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    /**
+     * The codec: {@code reflection} (plain Jackson), {@code blackbird}, or {@code blackbird-deque}
+     * (Blackbird with the shared concurrent-deque buffer pool used by the virtual thread profile).
+     */
+    @Param({"reflection", "blackbird", "blackbird-deque"})
+    public String codec;
+
+    /**
+     * The number of quotes in the response.
+     */
+    @Param({"1", "25", "500"})
+    public int quotes;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<HomeQuote>> response;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!codec.equals("reflection")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if (codec.equals("blackbird-deque")) {
+            builder.factory(JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()).build());
+        }
+        ObjectMapper mapper = builder.build();
+        writer = mapper.writerFor(ApiResponse.class);
+        response = QuotePayloads.homeQuotesResponse(quotes);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
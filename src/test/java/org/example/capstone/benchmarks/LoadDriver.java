@@ -0,0 +1,75 @@
+package org.example.capstone.benchmarks;
+
+import org.example.capstone.telemetry.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load driver for comparing platform-thread and virtual-thread request execution.
+ * <p>
+ * A fixed number of simulated clients each send one read request at a time, picked at random from
+ * customer, quote and policy lookups over the synthetic data set of the {@code perf} profile, for a fixed
+ * duration. It prints throughput, the status code mix and the latency histogram. Settings are system
+ * properties: {@code base} (default {@code http://localhost:8080/v1}), {@code clients} (400), {@code seconds}
+ * (60) and {@code customers} (200000). See the Benchmarks section of the README.
+ */
+public class LoadDriver {
+
+    private static final List<String> PATHS = List.of(
+            "/customers/%d",
+            "/home_quotes/customers/%d",
+            "/auto_quotes/customers/%d",
+            "/home_policies/customers/%d",
+            "/auto_policies/customers/%d");
+
+    public static void main(String[] args) throws InterruptedException {
+        String base = System.getProperty("base", "http://localhost:8080/v1");
+        int clients = Integer.getInteger("clients", 400);
+        int seconds = Integer.getInteger("seconds", 60);
+        int customers = Integer.getInteger("customers", 200000);
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        LatencyHistogram latency = new LatencyHistogram();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = PATHS.get(random.nextInt(PATHS.size())).formatted(random.nextInt(1, customers + 1));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            latency.record(System.nanoTime() - started);
+                            statuses.computeIfAbsent(response.statusCode(), code -> new LongAdder()).increment();
+                        } catch (Exception e) {
+                            failures.increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        long completed = latency.getCount();
+        System.out.printf("clients=%d seconds=%d requests=%d throughput=%.1f req/s failures=%d%n",
+                clients, seconds, completed, (double) completed / seconds, failures.sum());
+        System.out.println("status codes: " + statuses);
+        System.out.println("latency: " + latency.snapshot());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.capstone.benchmarks;
+
+import org.example.capstone.services.JasyptPasswordHasher;
+import org.example.capstone.services.PasswordHasher;
+import org.example.capstone.services.Pbkdf2PasswordHasher;
+import org.jasypt.util.password.StrongPasswordEncryptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures password hashes per second on a single thread (so per core) for each supported hasher setting,
+ * to pick {@code capstone.password.algorithm} and {@code capstone.password.pbkdf2.iterations} for a deployment.
+ * See the Benchmarks section of the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PasswordHashBenchmark {
+
+    /**
+     * The hasher setting: {@code jasypt}, or {@code pbkdf2-<iterations>}.
+     */
+    @Param({"jasypt", "pbkdf2-100000", "pbkdf2-310000", "pbkdf2-600000"})
+    public String setting;
+
+    private PasswordHasher hasher;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        hasher = setting.equals("jasypt")
+                ? new JasyptPasswordHasher(new StrongPasswordEncryptor())
+                : new Pbkdf2PasswordHasher(Integer.parseInt(setting.substring("pbkdf2-".length())));
+        storedHash = hasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.verify("correct horse battery staple", storedHash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordHashBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.capstone.benchmarks;
+
+import org.example.capstone.controllers.ApiResponse;
+import org.example.capstone.controllers.ResponseMessages;
+import org.example.capstone.pojos.Address;
+import org.example.capstone.pojos.Customer;
+import org.example.capstone.pojos.Home;
+import org.example.capstone.pojos.HomeQuote;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the response body of {@code GET /v1/home_quotes/customers/{id}} for the serialization benchmarks:
+ * one customer's home quotes, each with its home, customer and address.
+ */
+final class QuotePayloads {
+
+    private QuotePayloads() {
+    }
+
+    static ApiResponse<List<HomeQuote>> homeQuotesResponse(int quotes) {
+        Address address = new Address();
+        address.setId(1);
+        address.setUnit(4);
+        address.setStreet("12 Water Street");
+        address.setCity("St. John's");
+        address.setProvince("NL");
+        address.setPostalCode("A1C 1A1");
+        Customer customer = new Customer();
+        customer.setId(1);
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setBirthday(LocalDate.of(1985, 3, 14));
+        customer.setEmail("jane.doe@example.com");
+        customer.setUsername("jdoe");
+        customer.setPassword("not-serialized");
+        customer.setAddress(address);
+
+        List<HomeQuote> list = new ArrayList<>(quotes);
+        for (int i = 0; i < quotes; i++) {
+            Home home = new Home();
+            home.setId(i + 1);
+            home.setDateBuilt(LocalDate.of(1950 + i % 70, 1 + i % 12, 1 + i % 28));
+            home.setHomeValue(250_000 + i * 1_000);
+            home.setHeatingType(Home.HeatingType.values()[i % Home.HeatingType.values().length]);
+            home.setLocation(i % 2 == 0 ? Home.Location.URBAN : Home.Location.RURAL);
+            home.setTypeOfDwelling(Home.DwellingType.values()[i % Home.DwellingType.values().length]);
+            home.setAddress(address);
+            home.setCustomer(customer);
+            HomeQuote quote = new HomeQuote();
+            quote.setId(i + 1);
+            quote.setGenerationDate(LocalDate.of(2025, 1 + i % 12, 1 + i % 28));
+            quote.setPremium(1_234.56 + i);
+            quote.setBasePremium(500);
+            quote.setLiabilityLimit(1_000_000);
+            quote.setTaxRate(0.15);
+            quote.setHome(home);
+            quote.setCustId(1);
+            list.add(quote);
+        }
+        return ApiResponse.ok(list, ResponseMessages.ALL_HOME_QUOTES_BY_CUSTOMER_ID, 1L);
+    }
+}
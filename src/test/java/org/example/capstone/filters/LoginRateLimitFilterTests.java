@@ -0,0 +1,42 @@
+package org.example.capstone.filters;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LoginRateLimitFilterTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/v1/customers/login",
+            "/v1;x/customers/login",
+            "/v1/customers;x/login",
+            "/v1//customers/login",
+            "/v1/customers/%6Cogin",
+            "/v1/employees/%6Cogin"
+    })
+    void limitsLoginPathVariants(String uri) throws Exception {
+        // One attempt per address, effectively no refill
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(true, 1, 0.001, 100, 0.001, 1000);
+        filter.doFilter(login(uri), new MockHttpServletResponse(), new MockFilterChain());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login(uri), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest login(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr("192.0.2.1");
+        request.setParameter("username", "jdoe");
+        return request;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.capstone.filters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SessionTokenFilterTests {
+
+    private SessionTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SessionTokenFilter();
+        ReflectionTestUtils.setField(filter, "enforceAdmin", true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/v1/admins/telemetry",
+            "/v1;x/admins/telemetry",
+            "/v1/admins;x/telemetry",
+            "/v1/%61dmins/telemetry",
+            "/v1//admins/telemetry",
+            "/v1/admins"
+    })
+    void rejectsAdminRoutesWithoutSession(String uri) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/v1/customers", "/v1/adminsettings"})
+    void passesOtherRoutesWithoutSession(String uri) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+}
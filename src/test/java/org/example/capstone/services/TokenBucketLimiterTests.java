@@ -0,0 +1,23 @@
+package org.example.capstone.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTests {
+
+    @Test
+    void overflowingKeysShareOneBucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 0.001, 1);
+        assertEquals(0, limiter.tryAcquire("tracked"));
+
+        // The map is full, so every new key draws from the same overflow bucket
+        assertEquals(0, limiter.tryAcquire("rotating-1"));
+        assertEquals(0, limiter.tryAcquire("rotating-2"));
+        assertTrue(limiter.tryAcquire("rotating-3") > 0);
+
+        assertEquals(0, limiter.tryAcquire("tracked"));
+        assertEquals(3L, limiter.snapshot().get("overflow"));
+    }
+}